@@ -9,18 +9,13 @@ import net.iaxsro.rpgstats.registry.CreativeTabRegistry;
 import net.iaxsro.rpgstats.registry.ItemRegistry;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.slf4j.Logger;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 // El valor aquí debe coincidir con tu mod id en mods.toml
 @Mod(RpgStatsMod.MOD_ID)
 public class RpgStatsMod {
@@ -31,8 +26,6 @@ public class RpgStatsMod {
     // Logger para el mod
     public static final Logger LOGGER = LogUtils.getLogger();
 
-    public static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(6);
-
     public RpgStatsMod() {
         // --- Inicialización Principal ---
 
@@ -72,13 +65,6 @@ public class RpgStatsMod {
         LOGGER.info("{} Mod inicializado.", MOD_ID);
     }
 
-    @SubscribeEvent
-    public static void onServerStopping(ServerStoppingEvent event) {
-        // Shuts down the executor, allowing it to complete any queued tasks
-        // and then terminate its threads.
-        EXECUTOR.shutdown();
-    }
-
     /**
      * Método para FMLCommonSetupEvent. Se ejecuta después de que los registros están completos.
      * Bueno para registrar network handlers o configurar cosas que dependen de registros.
@@ -1,13 +1,11 @@
 package net.iaxsro.rpgstats.attributesystem;
 
-import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
 import net.iaxsro.rpgstats.capabilities.util.CapabilitiesAccessor;
 import net.iaxsro.rpgstats.config.ModConfig;
-import net.minecraft.server.MinecraftServer;
+import net.iaxsro.rpgstats.system.DiminishingReturnsTable;
 import net.minecraft.world.entity.LivingEntity;
 
-import java.util.concurrent.CompletableFuture;
-
 
 public class Calculator {
     /**
@@ -19,11 +17,12 @@ public class Calculator {
      * @return The calculated points to be granted.
      */
     public static double CalculateGrantedPoints(double pointsAmount, double iterations, double healthPercentageTaken) {
-        double counterVariation = ModConfig.COMMON.counterVariation.get();
         double pointsAmountMultiplier = ModConfig.COMMON.pointsMultiplier.get();
-        double dividerExponent = ModConfig.COMMON.dividerExponent.get();
 
-        return ((pointsAmount * pointsAmountMultiplier) / Math.pow((1 + counterVariation * iterations), dividerExponent)) * healthPercentageTaken;
+        // 1 / (1 + counterVariation * iterations)^dividerExponent, from the precomputed table
+        double inverseDivider = DiminishingReturnsTable.current().inverseDivider(iterations);
+
+        return ((pointsAmount * pointsAmountMultiplier) * inverseDivider) * healthPercentageTaken;
 
     }
 
@@ -35,54 +34,44 @@ public class Calculator {
      * @param entity The entity whose stats are being calculated.
      */
     public static void calculateAndApplyStrengthPoints(LivingEntity entity, double pointsAmount, double healthPercentageTaken) {
+        // 0. Resolve the capability once for the whole update (no boxing, no lambdas)
+        IPlayerStats stats = CapabilitiesAccessor.resolve(entity);
+        if (stats == null) {
+            return;
+        }
+
         // 1. Get the current iteration count for the desired attribute (e.g., Strength)
-        double currentIterations = CapabilitiesAccessor.strengthIterations.get(entity);
-        double currentStrengthPoints = CapabilitiesAccessor.strengthPoints.get(entity);
+        double currentIterations = CapabilitiesAccessor.strengthIterations.get(stats);
+        double currentStrengthPoints = CapabilitiesAccessor.strengthPoints.get(stats);
 
         // 2. Call the calculation method
         double grantedPoints = CalculateGrantedPoints(pointsAmount, currentIterations, healthPercentageTaken);
 
         // 3. Add the new points to the entity's stats
-        CapabilitiesAccessor.strengthPoints.set(entity, currentStrengthPoints + grantedPoints);
+        CapabilitiesAccessor.strengthPoints.set(stats, currentStrengthPoints + grantedPoints);
 
         // 4. VERY IMPORTANT: Increment the iteration counter for that attribute
-        CapabilitiesAccessor.strengthIterations.set(entity, currentIterations + healthPercentageTaken);
+        CapabilitiesAccessor.strengthIterations.set(stats, currentIterations + healthPercentageTaken);
     }
 
-    public void CalculateGrantedPoints(LivingEntity entity, double pointsAmount, double iterations) {
-        double counterVariation = ModConfig.COMMON.counterVariation.get();
+    /**
+     * Sums the granted points for every iteration from the entity's current strength iterations
+     * up to {@code currentIterations + pointsAmount}: {@code Σ multiplier / (1 + cv * x)^exponent}.
+     * The sum is evaluated in constant time by {@link DiminishingReturnsTable#sum(long, long)},
+     * so it runs synchronously on the calling thread whatever the size of the grant.
+     *
+     * @param entity       The entity whose strength iterations are used as the starting point.
+     * @param pointsAmount The number of iterations to sum over.
+     * @param iterations   Unused; kept for compatibility.
+     * @return The summed points.
+     */
+    public double CalculateGrantedPoints(LivingEntity entity, double pointsAmount, double iterations) {
         double pointsAmountMultiplier = ModConfig.COMMON.pointsMultiplier.get();
-        double dividerExponent = ModConfig.COMMON.dividerExponent.get();
-
-
-        CompletableFuture<Double> futureSum = CompletableFuture.supplyAsync(() -> {
-            double currentIterations = CapabilitiesAccessor.strengthIterations.get(entity);
-            double totalSum = 0.0;
-            for (int x = (int) currentIterations;
-                 x <= (currentIterations + pointsAmount);
-                 x++) {
-                double denominator = Math.pow(1 + (counterVariation * x), dividerExponent);
-                totalSum += pointsAmountMultiplier / denominator;
-            }
-
-            return totalSum; // Retorna el resultado.
-        }, RpgStatsMod.EXECUTOR);
-        futureSum.thenAcceptAsync(finalSum -> {
-
-            // Este código se ejecuta de vuelta en el hilo principal.
-            // Aquí es seguro interactuar con el jugador, el mundo, etc.
-            entity.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-                    "Cálculo completado. La suma es: " + finalSum
-            ));
-        }, runnable -> {
-            // En Forge, necesitamos asegurarnos de que el código se ejecute en el hilo correcto.
-            // runnables del tipo CompletableFuture ya vienen preparados para el hilo del juego.
-            // Sin embargo, para mayor seguridad, puedes usar el scheduler de Minecraft.
-            MinecraftServer server = entity.getServer();
-            if (server != null) {
-                server.execute(runnable);
-            }
-        });
 
+        double currentIterations = CapabilitiesAccessor.strengthIterations.get(entity);
+        // Same integer range as the original loop: x = (int) current .. current + pointsAmount
+        long first = (long) currentIterations;
+        long last = (long) Math.floor(currentIterations + pointsAmount);
+        return pointsAmountMultiplier * DiminishingReturnsTable.current().sum(first, last);
     }
 }
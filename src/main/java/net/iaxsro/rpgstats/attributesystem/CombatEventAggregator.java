@@ -0,0 +1,302 @@
+package net.iaxsro.rpgstats.attributesystem;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.capabilities.util.CapabilitiesAccessor;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
+import net.iaxsro.rpgstats.system.AttributeFormulas;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects the combat events raised by the Epic Fight listeners and folds them into stat gains
+ * once per server tick.
+ * <p>
+ * Each player owns a fixed-size ring buffer of primitive records (type, amount, target potential).
+ * Recording a hit is a few array stores: no allocation and no packets
+ * (the dodge path also skips the buffer lookup, see {@link EventListeners.DodgeContext}). At the end of every server tick each
+ * buffer with pending records is folded in a single pass. If a buffer fills up within one tick it
+ * is folded early instead of dropping records.
+ * <p>
+ * Folding applies the diminishing-returns gain formula ({@link AttributeFormulas}) record by record,
+ * in order, against a scratch copy of the stat vector:
+ * <ul>
+ *     <li>Damage dealt: strength, against the target's potential.</li>
+ *     <li>Damage taken: vitality and constitution, against the player's own potential.</li>
+ *     <li>Dodges: dexterity, with the attacker's attack damage against the player's potential.</li>
+ * </ul>
+ * Each event adds its gain to the attribute's points and its damage fraction to the attribute's
+ * iterations. The vector is written back once and the player is synced once per tick.
+ * All methods must be called from the server thread.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class CombatEventAggregator {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // --- Record types ---
+    public static final byte BASIC_ATTACK = 0;
+    public static final byte DEAL_ATTACK = 1;
+    public static final byte DEAL_HURT = 2;
+    public static final byte DEAL_DAMAGE = 3;
+    public static final byte TAKE_DAMAGE = 4;
+    public static final byte DODGE = 5;
+    public static final int TYPE_COUNT = 6;
+
+    static final int BUFFER_CAPACITY = 32;
+
+    /**
+     * Per-player ring buffer of combat records.
+     */
+    public static final class CombatBuffer {
+        private final UUID playerUUID;
+        private final byte[] types = new byte[BUFFER_CAPACITY];
+        private final double[] amounts = new double[BUFFER_CAPACITY];
+        private final double[] potentials = new double[BUFFER_CAPACITY];
+        private int head = 0;  // Oldest record
+        private int count = 0;
+        private boolean queued = false; // Already in the list of buffers to fold this tick
+
+        private CombatBuffer(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+
+        public UUID playerUUID() {
+            return playerUUID;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * @param index Record index, 0 being the oldest pending record.
+         */
+        public byte type(int index) {
+            return types[(head + index) % BUFFER_CAPACITY];
+        }
+
+        public double amount(int index) {
+            return amounts[(head + index) % BUFFER_CAPACITY];
+        }
+
+        public double potential(int index) {
+            return potentials[(head + index) % BUFFER_CAPACITY];
+        }
+
+        private void clear() {
+            head = 0;
+            count = 0;
+        }
+    }
+
+    // Attribute indices (StatType order) that gain points from combat
+    private static final int STRENGTH = 0;
+    private static final int DEXTERITY = 1;
+    private static final int VITALITY = 2;
+    private static final int CONSTITUTION = 3;
+
+    private static final Map<UUID, CombatBuffer> BUFFERS = new HashMap<>();
+    // Stat vector reused by every fold
+    private static final double[] SCRATCH = new double[StatType.COUNT];
+    // Buffers with pending records, folded at the end of the tick
+    private static CombatBuffer[] pending = new CombatBuffer[16];
+    private static int pendingCount = 0;
+
+    // --- Metrics ---
+    private static final long[] recordedByType = new long[TYPE_COUNT];
+    private static long foldCount = 0;
+    private static long overflowFoldCount = 0;
+    private static final double[] grantedByAttribute = new double[StatType.ATTRIBUTE_COUNT];
+
+    private CombatEventAggregator() {
+    }
+
+    /**
+     * Returns the player's buffer, creating it on first use. Hot paths should look it up once and
+     * keep the result.
+     */
+    public static CombatBuffer bufferFor(ServerPlayer player) {
+        return BUFFERS.computeIfAbsent(player.getUUID(), CombatBuffer::new);
+    }
+
+    /**
+     * Counts an event that grants nothing by itself (BASIC_ATTACK, DEAL_ATTACK, DEAL_HURT: earlier
+     * stages of a hit that DEAL_DAMAGE already records). It only updates the metrics, so it takes
+     * no buffer capacity and needs no potential.
+     */
+    public static void count(byte type) {
+        recordedByType[type]++;
+    }
+
+    /**
+     * Appends a record to the buffer. Allocation-free. Only for the types that {@code fold} turns
+     * into gains (DEAL_DAMAGE, TAKE_DAMAGE, DODGE); use {@link #count(byte)} for the others.
+     *
+     * @param type      One of the record type constants.
+     * @param amount    Damage dealt, taken or dodged.
+     * @param potential The relevant entity's potential (see {@link #potential(LivingEntity)}).
+     */
+    public static void record(CombatBuffer buffer, byte type, double amount, double potential) {
+        if (buffer.count == BUFFER_CAPACITY) {
+            overflowFoldCount++;
+            fold(buffer);
+        }
+        int slot = (buffer.head + buffer.count) % BUFFER_CAPACITY;
+        buffer.types[slot] = type;
+        buffer.amounts[slot] = amount;
+        buffer.potentials[slot] = potential;
+        buffer.count++;
+        recordedByType[type]++;
+        if (!buffer.queued) {
+            buffer.queued = true;
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pendingCount * 2);
+            }
+            pending[pendingCount++] = buffer;
+        }
+    }
+
+    /**
+     * The "potential" of an entity used to scale combat gains: max health weighted by armor.
+     */
+    public static double potential(LivingEntity entity) {
+        return entity.getMaxHealth() * (1.0 + entity.getArmorValue() / 100.0);
+    }
+
+    // High priority: gains are folded before PlayerStatsSyncScheduler flushes this tick's changes
+    @SubscribeEvent(priority = EventPriority.HIGH)
+    public static void onServerTick(final TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || pendingCount == 0) {
+            return;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            CombatBuffer buffer = pending[i];
+            pending[i] = null;
+            buffer.queued = false;
+            fold(buffer);
+        }
+        pendingCount = 0;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent event) {
+        CombatBuffer buffer = BUFFERS.remove(event.getEntity().getUUID());
+        if (buffer != null) {
+            fold(buffer); // Last hits before leaving still count
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        LOGGER.debug("Combat aggregator: {} folds ({} early), points granted STR {} DEX {} VIT {} CON {}.",
+                foldCount, overflowFoldCount, grantedByAttribute[STRENGTH], grantedByAttribute[DEXTERITY],
+                grantedByAttribute[VITALITY], grantedByAttribute[CONSTITUTION]);
+        BUFFERS.clear();
+        Arrays.fill(pending, null);
+        pendingCount = 0;
+    }
+
+    // Folds every pending record of the buffer into stat gains and empties it
+    private static void fold(CombatBuffer buffer) {
+        if (buffer.count == 0) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        ServerPlayer player = server != null ? server.getPlayerList().getPlayer(buffer.playerUUID) : null;
+        IPlayerStats stats = player != null ? CapabilitiesAccessor.resolve(player) : null;
+        if (stats == null) {
+            buffer.clear();
+            return;
+        }
+        foldCount++;
+
+        // One read and one write of the stat vector for the whole batch
+        stats.copyInto(SCRATCH);
+        boolean changed = false;
+        for (int i = 0; i < buffer.count; i++) {
+            int slot = (buffer.head + i) % BUFFER_CAPACITY;
+            double amount = buffer.amounts[slot];
+            double potential = buffer.potentials[slot];
+            if (amount <= 0 || potential <= 1e-6) {
+                continue;
+            }
+            switch (buffer.types[slot]) {
+                case DEAL_DAMAGE -> changed |= grant(STRENGTH, amount, potential, true);
+                case TAKE_DAMAGE -> {
+                    changed |= grant(VITALITY, amount, potential, false);
+                    changed |= grant(CONSTITUTION, amount, potential, false);
+                }
+                case DODGE -> changed |= grant(DEXTERITY, amount, potential, false);
+                default -> {
+                    // Only DEAL_DAMAGE, TAKE_DAMAGE and DODGE are buffered (see count())
+                }
+            }
+        }
+        buffer.clear();
+
+        if (changed) {
+            stats.copyFrom(SCRATCH);
+            PlayerStatsSyncScheduler.markDirty(player); // One sync per player per tick
+        }
+    }
+
+    // Adds one event's gain to the scratch vector and advances the attribute's iterations
+    private static boolean grant(int attributeIndex, double amount, double potential, boolean strengthFormula) {
+        int pointsIndex = StatType.points(attributeIndex).ordinal();
+        int iterationsIndex = StatType.iterations(attributeIndex).ordinal();
+        double iterations = SCRATCH[iterationsIndex];
+        double gain = strengthFormula
+                ? AttributeFormulas.calculateStrengthGainOnHit(amount, iterations, potential)
+                : AttributeFormulas.calculateGain(amount, iterations, potential);
+        double progress = AttributeFormulas.damagePercentage(amount, potential);
+        if (gain <= 0 && progress <= 0) {
+            return false;
+        }
+        SCRATCH[pointsIndex] += gain;
+        SCRATCH[iterationsIndex] = iterations + progress;
+        grantedByAttribute[attributeIndex] += gain;
+        return true;
+    }
+
+    // --- Metric getters ---
+
+    public static long getRecordedCount(byte type) {
+        return recordedByType[type];
+    }
+
+    public static long getFoldCount() {
+        return foldCount;
+    }
+
+    public static long getOverflowFoldCount() {
+        return overflowFoldCount;
+    }
+
+    /**
+     * @param attributeIndex Base attribute index (0 = STR ... 4 = INT).
+     * @return Total points granted to that attribute by combat.
+     */
+    public static double getGrantedPoints(int attributeIndex) {
+        return grantedByAttribute[attributeIndex];
+    }
+
+    public static int getTrackedPlayerCount() {
+        return BUFFERS.size();
+    }
+}
@@ -1,20 +1,24 @@
 package net.iaxsro.rpgstats.attributesystem;
 
-import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import yesman.epicfight.world.capabilities.EpicFightCapabilities;
 import yesman.epicfight.world.capabilities.entitypatch.player.ServerPlayerPatch;
-import yesman.epicfight.world.damagesource.EpicFightDamageSource;
 import yesman.epicfight.world.entity.eventlistener.PlayerEventListener;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
- * Helpers to register and remove Epic Fight listeners.
+ * Registry of the Epic Fight combat listeners, keyed by fixed UUIDs and tracking which players are hooked.
+ * Damage dealt, damage taken and dodges append a record to the player's {@link CombatEventAggregator}
+ * buffer, folded once per server tick; the earlier stages of a hit are only counted.
  */
 public class EventListeners {
     public static final UUID BASIC_ATTACK_UUID = UUID.fromString("bb18a7b4-52c5-4c85-987c-7b8ac2e1cf52");
@@ -26,101 +30,129 @@ public class EventListeners {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EventListeners.class);
 
-    public static void applyAttackEventListener(ServerPlayer player) {
-        ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
-        if (playerPatch == null) {
-            LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
-            return;
+    // Dodge context of each hooked player. Its listener identifies the patch it was built for: a
+    // respawn creates a new patch (and listener), which must be hooked again; any other call is a no-op.
+    private static final Map<UUID, DodgeContext> HOOKED = new HashMap<>();
+
+    // --- Metrics ---
+    private static long hookCount = 0;
+    private static long skippedHookCount = 0;
+
+    /**
+     * Per-player state for the dodge fast path, built once when the player's patch is hooked.
+     * <p>
+     * The dodge listener is bound to its context, so a successful dodge needs no lookup: it reads
+     * the attacker's attack damage and appends a record to the player's buffer, reusing the
+     * player's potential computed at most once per tick. Nothing is allocated and nothing is
+     * broadcast; the dexterity gain is applied when the buffer is folded.
+     */
+    public static final class DodgeContext {
+        private final ServerPlayer player;
+        private final PlayerEventListener listener;
+        private final CombatEventAggregator.CombatBuffer buffer;
+        private double potential;
+        private int potentialTick = -1;
+
+        private DodgeContext(ServerPlayer player, PlayerEventListener listener) {
+            this.player = player;
+            this.listener = listener;
+            this.buffer = CombatEventAggregator.bufferFor(player);
         }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.BASIC_ATTACK_EVENT,
-                BASIC_ATTACK_UUID, (basicAttackEvent) -> {
-                    if (basicAttackEvent.isCanceled()) {
-                        playerPatch.getOriginal().getServer().getPlayerList()
-                                .broadcastSystemMessage(Component.literal("Attack canceled!"), false);
-                        return;
-                    }
-                    playerPatch.getOriginal().getServer().getPlayerList()
-                            .broadcastSystemMessage(Component.literal("Attack handled successfully!"), false);
-                });
-    }
 
-    public static void applyDealAttackEventListener(ServerPlayer player) {
-        ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
-        if (playerPatch == null) {
-            LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
-            return;
+        private void onDodgeSuccess(DamageSource source) {
+            // Amount dodged: the attacker's attack damage (ignored for non-living sources)
+            if (!(source.getEntity() instanceof LivingEntity attacker)) {
+                return;
+            }
+            AttributeInstance attackDamage = attacker.getAttribute(Attributes.ATTACK_DAMAGE);
+            if (attackDamage == null) {
+                return;
+            }
+            if (potentialTick != player.tickCount) {
+                potentialTick = player.tickCount;
+                potential = CombatEventAggregator.potential(player);
+            }
+            CombatEventAggregator.record(buffer, CombatEventAggregator.DODGE, attackDamage.getValue(), potential);
         }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_ATTACK,
-                DEAL_ATTACK_UUID, (dealAttackEvent) -> {
-                    double attackDamage = dealAttackEvent.getAttackDamage();
-                    dealAttackEvent.getPlayerPatch().getOriginal().getServer().getPlayerList().broadcastSystemMessage(
-                            Component.literal(" Attacked with " + attackDamage + " raw damage."), false);
-                });
     }
 
-    public static void applyDealHurtEventListener(ServerPlayer player) {
+    /**
+     * Registers the combat listeners on the player's Epic Fight patch, once per patch.
+     * <p>
+     * The attack and damage listeners capture nothing: each one counts its event or looks up the
+     * player's buffer from the event itself, so the JVM creates a single shared instance per event type. The dodge
+     * listener is bound to the player's {@link DodgeContext}, created once per patch. Calling this
+     * again for an already hooked patch (dimension change, a second login handler) does nothing.
+     */
+    public static void applyAllEventListeners(ServerPlayer player) {
         ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
         if (playerPatch == null) {
             LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
             return;
         }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_HURT,
-                DEAL_HURT_UUID, (dealHurtEvent) -> {
-                    double hurtDamage = dealHurtEvent.getAttackDamage();
-                    dealHurtEvent.getPlayerPatch().getOriginal().getServer().getPlayerList().broadcastSystemMessage(
-                            Component.literal(" Hurt with " + hurtDamage + " raw damage."), false);
-                });
-    }
-
-    public static void applyDealDamageEventListener(ServerPlayer player) {
-        ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
-        if (playerPatch == null) {
-            LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
+        if (isHooked(playerPatch)) {
+            skippedHookCount++;
             return;
         }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_DAMAGE,
-                DEAL_DAMAGE_UUID, (dealDamageEvent) -> {
-                    double finalDamage = dealDamageEvent.getAttackDamage();
-                    dealDamageEvent.getPlayerPatch().getOriginal().getServer().getPlayerList().broadcastSystemMessage(
-                            Component.literal(" Damaged with " + finalDamage + " raw damage."), false);
-                });
+        hook(playerPatch);
     }
 
-    public static void applyTakeDamageEventListener(ServerPlayer player) {
-        ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
-        if (playerPatch == null) {
-            LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
-            return;
+    /**
+     * Hot-path variant for callers that already have the patch (the dodge mixin): no capability
+     * lookup, only the hooked check, and the patch is hooked the first time.
+     */
+    public static void ensureHooked(ServerPlayerPatch playerPatch) {
+        if (!isHooked(playerPatch)) {
+            hook(playerPatch);
         }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.TAKE_DAMAGE_EVENT_DAMAGE,
-                TAKE_DAMAGE_HURT_UUID, (hurtEvent) -> {
-                    double takenDamage = hurtEvent.getDamage();
-                    hurtEvent.getPlayerPatch().getOriginal().getServer().getPlayerList().broadcastSystemMessage(
-                            Component.literal("Took " + takenDamage + " damage!"), false);
-                });
     }
 
-    public static void applyDodgeSuccessEventListener(ServerPlayer player) {
+    private static boolean isHooked(ServerPlayerPatch playerPatch) {
+        DodgeContext context = HOOKED.get(playerPatch.getOriginal().getUUID());
+        return context != null && context.listener == playerPatch.getEventListener();
+    }
+
+    private static void hook(ServerPlayerPatch playerPatch) {
+        ServerPlayer player = playerPatch.getOriginal();
+        PlayerEventListener listener = playerPatch.getEventListener();
+        DodgeContext dodgeContext = new DodgeContext(player, listener);
+        HOOKED.put(player.getUUID(), dodgeContext);
+        hookCount++;
+
+        // Earlier stages of a hit: counted only, the gain comes from DEAL_DAMAGE
+        listener.addEventListener(PlayerEventListener.EventType.BASIC_ATTACK_EVENT, BASIC_ATTACK_UUID, (basicAttackEvent) -> {
+            if (!basicAttackEvent.isCanceled()) {
+                CombatEventAggregator.count(CombatEventAggregator.BASIC_ATTACK);
+            }
+        });
+        listener.addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_ATTACK, DEAL_ATTACK_UUID, (dealAttackEvent) ->
+                CombatEventAggregator.count(CombatEventAggregator.DEAL_ATTACK));
+        listener.addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_HURT, DEAL_HURT_UUID, (dealHurtEvent) ->
+                CombatEventAggregator.count(CombatEventAggregator.DEAL_HURT));
+        listener.addEventListener(PlayerEventListener.EventType.DEAL_DAMAGE_EVENT_DAMAGE, DEAL_DAMAGE_UUID, (dealDamageEvent) ->
+                CombatEventAggregator.record(bufferOf(dealDamageEvent.getPlayerPatch()), CombatEventAggregator.DEAL_DAMAGE,
+                        dealDamageEvent.getAttackDamage(), CombatEventAggregator.potential(dealDamageEvent.getTarget())));
+        listener.addEventListener(PlayerEventListener.EventType.TAKE_DAMAGE_EVENT_DAMAGE, TAKE_DAMAGE_HURT_UUID, (hurtEvent) ->
+                CombatEventAggregator.record(bufferOf(hurtEvent.getPlayerPatch()), CombatEventAggregator.TAKE_DAMAGE,
+                        hurtEvent.getDamage(), CombatEventAggregator.potential(hurtEvent.getPlayerPatch().getOriginal())));
+        listener.addEventListener(PlayerEventListener.EventType.DODGE_SUCCESS_EVENT, DODGE_UUID, (dodgeSuccessEvent) ->
+                dodgeContext.onDodgeSuccess(dodgeSuccessEvent.getDamageSource()));
+    }
+
+    private static CombatEventAggregator.CombatBuffer bufferOf(ServerPlayerPatch playerPatch) {
+        return CombatEventAggregator.bufferFor(playerPatch.getOriginal());
+    }
+
+    /**
+     * @return true if the player's current patch has the combat listeners registered.
+     */
+    public static boolean isHooked(ServerPlayer player) {
         ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
-        if (playerPatch == null) {
-            LOGGER.error("Could not get ServerPlayerPatch for {}!", player.getName().getString());
-            return;
-        }
-        playerPatch.getEventListener().addEventListener(PlayerEventListener.EventType.DODGE_SUCCESS_EVENT,
-                DODGE_UUID, (dodgeSuccessEvent) -> {
-                    LivingEntity damageSourceEntity = (LivingEntity) dodgeSuccessEvent.getDamageSource().getEntity();
-                    ServerPlayer dodger = dodgeSuccessEvent.getPlayerPatch().getOriginal();
-                    EpicFightDamageSource efds = (EpicFightDamageSource) dodgeSuccessEvent.getDamageSource();
-
-                    double attackerAttackAttributeValue = damageSourceEntity.getAttribute(Attributes.ATTACK_DAMAGE).getValue();
-
-                    efds.calculateDamageAgainst(damageSourceEntity, dodger, (float) attackerAttackAttributeValue);
-                    dodger.getServer().getPlayerList().broadcastSystemMessage(
-                            Component.literal("Dodged: " + attackerAttackAttributeValue + "!"), false);
-                });
+        return playerPatch != null && isHooked(playerPatch);
     }
 
     public static void removeEventListeners(ServerPlayer player) {
+        HOOKED.remove(player.getUUID());
         ServerPlayerPatch playerPatch = EpicFightCapabilities.getEntityPatch(player, ServerPlayerPatch.class);
         if (playerPatch != null) {
             PlayerEventListener listener = playerPatch.getEventListener();
@@ -135,13 +167,24 @@ public class EventListeners {
         }
     }
 
-    public static void applyAllEventListeners(ServerPlayer player){
-        applyAttackEventListener(player);
-        applyDealAttackEventListener(player);
-        applyDealHurtEventListener(player);
-        applyDealDamageEventListener(player);
-        applyTakeDamageEventListener(player);
-        applyDodgeSuccessEventListener(player);
+    /**
+     * Forgets every hooked player (server stopped).
+     */
+    public static void clear() {
+        HOOKED.clear();
+    }
+
+    // --- Metric getters ---
+
+    public static int getHookedPlayerCount() {
+        return HOOKED.size();
+    }
+
+    public static long getHookCount() {
+        return hookCount;
     }
-}
 
+    public static long getSkippedHookCount() {
+        return skippedHookCount;
+    }
+}
@@ -2,6 +2,7 @@ package net.iaxsro.rpgstats.attributesystem;
 
 import net.iaxsro.rpgstats.RpgStatsMod;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraft.server.level.ServerPlayer;
@@ -12,16 +13,16 @@ public class InitiateSystem {
     @SubscribeEvent
     public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
         ServerPlayer player = (ServerPlayer) event.getEntity();
-        EventListeners.applyAttackEventListener(player);
-        EventListeners.applyDealAttackEventListener(player);
-        EventListeners.applyDealHurtEventListener(player);
-        EventListeners.applyDealDamageEventListener(player);
-        EventListeners.applyTakeDamageEventListener(player);
-        EventListeners.applyDodgeSuccessEventListener(player);
+        EventListeners.applyAllEventListeners(player);
     }
 
     @SubscribeEvent
     public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
         EventListeners.removeEventListeners((ServerPlayer) event.getEntity());
     }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        EventListeners.clear();
+    }
 }
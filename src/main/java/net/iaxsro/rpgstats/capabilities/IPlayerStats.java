@@ -12,6 +12,21 @@ import java.util.UUID;
  */
 public interface IPlayerStats {
 
+    // --- Bits de Cambios Pendientes (dirty) ---
+    // Los bits 0..StatType.COUNT-1 corresponden a cada StatType (ver dirtyBit)
+    long DIRTY_LEVEL = 1L << StatType.COUNT;
+    long DIRTY_NICKNAME = 1L << (StatType.COUNT + 1);
+    long DIRTY_FIRST_JOIN = 1L << (StatType.COUNT + 2);
+    long DIRTY_LEVEL_UUID = 1L << (StatType.COUNT + 3);
+    long DIRTY_ALL = (DIRTY_LEVEL_UUID << 1) - 1;
+
+    /**
+     * @return El bit de cambios pendientes asociado a una estadística.
+     */
+    static long dirtyBit(StatType type) {
+        return 1L << type.ordinal();
+    }
+
     // --- Serialización / Deserialización ---
 
     /**
@@ -42,67 +57,190 @@ public interface IPlayerStats {
      */
     void loadNBTData(CompoundTag nbt);
 
-    // --- Puntos de Atributo ---
-    double getStrengthPoints();
+    // --- Seguimiento de Cambios ---
+
+    /**
+     * @return La máscara de campos modificados desde el último {@link #consumeDirty()}, sin limpiarla.
+     */
+    long peekDirty();
+
+    /**
+     * Devuelve la máscara de campos modificados y la limpia.
+     * Un resultado 0 indica que no hay nada que sincronizar ni guardar.
+     *
+     * @return Combinación de bits DIRTY_* / {@link #dirtyBit(StatType)}.
+     */
+    long consumeDirty();
+
+    /**
+     * Marca campos como modificados manualmente (por ejemplo, para forzar un envío completo).
+     *
+     * @param mask Bits a marcar.
+     */
+    void markDirty(long mask);
+
+    // --- Acceso Genérico al Vector de Estadísticas ---
 
-    void setStrengthPoints(double value);
+    /**
+     * Obtiene el valor de una entrada del vector de estadísticas.
+     *
+     * @param type La estadística a leer.
+     * @return El valor actual (nunca negativo).
+     */
+    double get(StatType type);
+
+    /**
+     * Establece el valor de una entrada. Los valores negativos se ajustan a 0.
+     *
+     * @param type  La estadística a modificar.
+     * @param value El nuevo valor.
+     */
+    void set(StatType type, double value);
 
-    void addStrengthPoints(double value);
+    /**
+     * Suma un valor a una entrada. Los valores no positivos se ignoran.
+     *
+     * @param type  La estadística a modificar.
+     * @param value La cantidad a sumar.
+     */
+    void add(StatType type, double value);
 
-    double getDexterityPoints();
+    /**
+     * Copia el vector completo en {@code target}, indexado por {@link StatType#ordinal()}.
+     *
+     * @param target Array destino de al menos {@link StatType#COUNT} posiciones.
+     */
+    void copyInto(double[] target);
 
-    void setDexterityPoints(double value);
+    /**
+     * Reemplaza el vector completo con el contenido de {@code source}.
+     * Cada valor pasa por la misma validación que {@link #set(StatType, double)}.
+     *
+     * @param source Array origen de al menos {@link StatType#COUNT} posiciones.
+     */
+    void copyFrom(double[] source);
 
-    void addDexterityPoints(double value);
+    // --- Puntos de Atributo (adaptadores sobre el vector) ---
+    default double getStrengthPoints() {
+        return get(StatType.STRENGTH_POINTS);
+    }
 
-    double getVitalityPoints();
+    default void setStrengthPoints(double value) {
+        set(StatType.STRENGTH_POINTS, value);
+    }
 
-    void setVitalityPoints(double value);
+    default void addStrengthPoints(double value) {
+        add(StatType.STRENGTH_POINTS, value);
+    }
 
-    void addVitalityPoints(double value);
+    default double getDexterityPoints() {
+        return get(StatType.DEXTERITY_POINTS);
+    }
 
-    double getConstitutionPoints();
+    default void setDexterityPoints(double value) {
+        set(StatType.DEXTERITY_POINTS, value);
+    }
 
-    void setConstitutionPoints(double value);
+    default void addDexterityPoints(double value) {
+        add(StatType.DEXTERITY_POINTS, value);
+    }
 
-    void addConstitutionPoints(double value);
+    default double getVitalityPoints() {
+        return get(StatType.VITALITY_POINTS);
+    }
 
-    double getIntelligencePoints();
+    default void setVitalityPoints(double value) {
+        set(StatType.VITALITY_POINTS, value);
+    }
 
-    void setIntelligencePoints(double value);
+    default void addVitalityPoints(double value) {
+        add(StatType.VITALITY_POINTS, value);
+    }
 
-    void addIntelligencePoints(double value);
+    default double getConstitutionPoints() {
+        return get(StatType.CONSTITUTION_POINTS);
+    }
 
-    // --- Iteraciones de Atributo ---
-    double getStrengthIterations();
+    default void setConstitutionPoints(double value) {
+        set(StatType.CONSTITUTION_POINTS, value);
+    }
 
-    void setStrengthIterations(double value);
+    default void addConstitutionPoints(double value) {
+        add(StatType.CONSTITUTION_POINTS, value);
+    }
 
-    void addStrengthIterations(double value);
+    default double getIntelligencePoints() {
+        return get(StatType.INTELLIGENCE_POINTS);
+    }
 
-    double getDexterityIterations();
+    default void setIntelligencePoints(double value) {
+        set(StatType.INTELLIGENCE_POINTS, value);
+    }
 
-    void setDexterityIterations(double value);
+    default void addIntelligencePoints(double value) {
+        add(StatType.INTELLIGENCE_POINTS, value);
+    }
 
-    void addDexterityIterations(double value);
+    // --- Iteraciones de Atributo (adaptadores sobre el vector) ---
+    default double getStrengthIterations() {
+        return get(StatType.STRENGTH_ITERATIONS);
+    }
 
-    double getVitalityIterations();
+    default void setStrengthIterations(double value) {
+        set(StatType.STRENGTH_ITERATIONS, value);
+    }
 
-    void setVitalityIterations(double value);
+    default void addStrengthIterations(double value) {
+        add(StatType.STRENGTH_ITERATIONS, value);
+    }
 
-    void addVitalityIterations(double value);
+    default double getDexterityIterations() {
+        return get(StatType.DEXTERITY_ITERATIONS);
+    }
 
-    double getConstitutionIterations();
+    default void setDexterityIterations(double value) {
+        set(StatType.DEXTERITY_ITERATIONS, value);
+    }
 
-    void setConstitutionIterations(double value);
+    default void addDexterityIterations(double value) {
+        add(StatType.DEXTERITY_ITERATIONS, value);
+    }
 
-    void addConstitutionIterations(double value);
+    default double getVitalityIterations() {
+        return get(StatType.VITALITY_ITERATIONS);
+    }
 
-    double getIntelligenceIterations();
+    default void setVitalityIterations(double value) {
+        set(StatType.VITALITY_ITERATIONS, value);
+    }
 
-    void setIntelligenceIterations(double value);
+    default void addVitalityIterations(double value) {
+        add(StatType.VITALITY_ITERATIONS, value);
+    }
 
-    void addIntelligenceIterations(double value);
+    default double getConstitutionIterations() {
+        return get(StatType.CONSTITUTION_ITERATIONS);
+    }
+
+    default void setConstitutionIterations(double value) {
+        set(StatType.CONSTITUTION_ITERATIONS, value);
+    }
+
+    default void addConstitutionIterations(double value) {
+        add(StatType.CONSTITUTION_ITERATIONS, value);
+    }
+
+    default double getIntelligenceIterations() {
+        return get(StatType.INTELLIGENCE_ITERATIONS);
+    }
+
+    default void setIntelligenceIterations(double value) {
+        set(StatType.INTELLIGENCE_ITERATIONS, value);
+    }
+
+    default void addIntelligenceIterations(double value) {
+        add(StatType.INTELLIGENCE_ITERATIONS, value);
+    }
 
     // --- Nivel del Jugador ---
     int getLevel();
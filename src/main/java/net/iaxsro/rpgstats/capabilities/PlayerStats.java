@@ -19,35 +19,15 @@ public class PlayerStats implements IPlayerStats {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlayerStats.class);
 
     // --- NBT Keys ---
-    private static final String NBT_KEY_STRENGTH_POINTS = "StrengthPoints";
-    private static final String NBT_KEY_DEXTERITY_POINTS = "DexterityPoints";
-    private static final String NBT_KEY_VITALITY_POINTS = "VitalityPoints";
-    private static final String NBT_KEY_CONSTITUTION_POINTS = "ConstitutionPoints";
-    private static final String NBT_KEY_INTELLIGENCE_POINTS = "IntelligencePoints";
-
-    private static final String NBT_KEY_STRENGTH_ITERATIONS = "StrengthIterations";
-    private static final String NBT_KEY_DEXTERITY_ITERATIONS = "DexterityIterations";
-    private static final String NBT_KEY_VITALITY_ITERATIONS = "VitalityIterations";
-    private static final String NBT_KEY_CONSTITUTION_ITERATIONS = "ConstitutionIterations";
-    private static final String NBT_KEY_INTELLIGENCE_ITERATIONS = "IntelligenceIterations";
-
+    // Las claves de puntos/iteraciones viven en StatType#nbtKey()
     private static final String NBT_KEY_LEVEL = "PlayerLevel";
     private static final String NBT_KEY_NICKNAME = "Nickname";
     private static final String NBT_KEY_FIRST_JOIN = "FirstTimeJoining";
     private static final String NBT_KEY_LEVEL_UUID = "CurrentLevelUUID";
 
     // --- Data Fields ---
-    private double strengthPoints = 0.0;
-    private double dexterityPoints = 0.0;
-    private double vitalityPoints = 0.0;
-    private double constitutionPoints = 0.0;
-    private double intelligencePoints = 0.0;
-
-    private double strengthIterations = 0.0;
-    private double dexterityIterations = 0.0;
-    private double vitalityIterations = 0.0;
-    private double constitutionIterations = 0.0;
-    private double intelligenceIterations = 0.0;
+    // Vector denso de puntos e iteraciones, indexado por StatType#ordinal()
+    private final double[] stats = new double[StatType.COUNT];
 
     private int level = 0;
     private String nickname = "";
@@ -55,6 +35,9 @@ public class PlayerStats implements IPlayerStats {
     @Nullable
     private UUID currentLevelUUID = null;
 
+    // Campos modificados desde el último consumeDirty() (ver IPlayerStats.DIRTY_*)
+    private long dirtyMask = 0L;
+
     @Override
     public CompoundTag saveNBTData() {
         return writeNBT();
@@ -68,17 +51,9 @@ public class PlayerStats implements IPlayerStats {
     @Override
     public CompoundTag writeNBT() {
         CompoundTag nbt = new CompoundTag();
-        nbt.putDouble(NBT_KEY_STRENGTH_POINTS, this.strengthPoints);
-        nbt.putDouble(NBT_KEY_DEXTERITY_POINTS, this.dexterityPoints);
-        nbt.putDouble(NBT_KEY_VITALITY_POINTS, this.vitalityPoints);
-        nbt.putDouble(NBT_KEY_CONSTITUTION_POINTS, this.constitutionPoints);
-        nbt.putDouble(NBT_KEY_INTELLIGENCE_POINTS, this.intelligencePoints);
-
-        nbt.putDouble(NBT_KEY_STRENGTH_ITERATIONS, this.strengthIterations);
-        nbt.putDouble(NBT_KEY_DEXTERITY_ITERATIONS, this.dexterityIterations);
-        nbt.putDouble(NBT_KEY_VITALITY_ITERATIONS, this.vitalityIterations);
-        nbt.putDouble(NBT_KEY_CONSTITUTION_ITERATIONS, this.constitutionIterations);
-        nbt.putDouble(NBT_KEY_INTELLIGENCE_ITERATIONS, this.intelligenceIterations);
+        for (StatType type : StatType.VALUES) {
+            nbt.putDouble(type.nbtKey(), this.stats[type.ordinal()]);
+        }
 
         nbt.putInt(NBT_KEY_LEVEL, this.level);
         nbt.putString(NBT_KEY_NICKNAME, this.nickname != null ? this.nickname : "");
@@ -96,17 +71,9 @@ public class PlayerStats implements IPlayerStats {
             return;
         }
 
-        setStrengthPoints(nbt.getDouble(NBT_KEY_STRENGTH_POINTS));
-        setDexterityPoints(nbt.getDouble(NBT_KEY_DEXTERITY_POINTS));
-        setVitalityPoints(nbt.getDouble(NBT_KEY_VITALITY_POINTS));
-        setConstitutionPoints(nbt.getDouble(NBT_KEY_CONSTITUTION_POINTS));
-        setIntelligencePoints(nbt.getDouble(NBT_KEY_INTELLIGENCE_POINTS));
-
-        setStrengthIterations(nbt.getDouble(NBT_KEY_STRENGTH_ITERATIONS));
-        setDexterityIterations(nbt.getDouble(NBT_KEY_DEXTERITY_ITERATIONS));
-        setVitalityIterations(nbt.getDouble(NBT_KEY_VITALITY_ITERATIONS));
-        setConstitutionIterations(nbt.getDouble(NBT_KEY_CONSTITUTION_ITERATIONS));
-        setIntelligenceIterations(nbt.getDouble(NBT_KEY_INTELLIGENCE_ITERATIONS));
+        for (StatType type : StatType.VALUES) {
+            set(type, nbt.getDouble(type.nbtKey()));
+        }
 
         setLevel(nbt.getInt(NBT_KEY_LEVEL));
         setNickname(nbt.getString(NBT_KEY_NICKNAME));
@@ -119,106 +86,59 @@ public class PlayerStats implements IPlayerStats {
         }
     }
 
-    // --- Getters ---
-    @Override
-    public double getStrengthPoints() {
-        return strengthPoints;
-    }
-
-    // --- Setters ---
-    @Override
-    public void setStrengthPoints(double value) {
-        this.strengthPoints = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getDexterityPoints() {
-        return dexterityPoints;
-    }
-
-    @Override
-    public void setDexterityPoints(double value) {
-        this.dexterityPoints = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getVitalityPoints() {
-        return vitalityPoints;
-    }
-
+    // --- Seguimiento de Cambios ---
     @Override
-    public void setVitalityPoints(double value) {
-        this.vitalityPoints = Math.max(0.0, value);
+    public long peekDirty() {
+        return dirtyMask;
     }
 
     @Override
-    public double getConstitutionPoints() {
-        return constitutionPoints;
+    public long consumeDirty() {
+        long mask = dirtyMask;
+        dirtyMask = 0L;
+        return mask;
     }
 
     @Override
-    public void setConstitutionPoints(double value) {
-        this.constitutionPoints = Math.max(0.0, value);
+    public void markDirty(long mask) {
+        dirtyMask |= mask;
     }
 
+    // --- Vector de Estadísticas ---
     @Override
-    public double getIntelligencePoints() {
-        return intelligencePoints;
+    public double get(StatType type) {
+        return stats[type.ordinal()];
     }
 
     @Override
-    public void setIntelligencePoints(double value) {
-        this.intelligencePoints = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getStrengthIterations() {
-        return strengthIterations;
-    }
-
-    @Override
-    public void setStrengthIterations(double value) {
-        this.strengthIterations = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getDexterityIterations() {
-        return dexterityIterations;
-    }
-
-    @Override
-    public void setDexterityIterations(double value) {
-        this.dexterityIterations = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getVitalityIterations() {
-        return vitalityIterations;
-    }
-
-    @Override
-    public void setVitalityIterations(double value) {
-        this.vitalityIterations = Math.max(0.0, value);
-    }
-
-    @Override
-    public double getConstitutionIterations() {
-        return constitutionIterations;
+    public void set(StatType type, double value) {
+        int index = type.ordinal();
+        double clamped = Math.max(0.0, value);
+        if (stats[index] != clamped) {
+            stats[index] = clamped;
+            dirtyMask |= 1L << index;
+        }
     }
 
     @Override
-    public void setConstitutionIterations(double value) {
-        this.constitutionIterations = Math.max(0.0, value);
+    public void add(StatType type, double value) {
+        if (value > 0) set(type, stats[type.ordinal()] + value);
     }
 
     @Override
-    public double getIntelligenceIterations() {
-        return intelligenceIterations;
+    public void copyInto(double[] target) {
+        System.arraycopy(stats, 0, target, 0, StatType.COUNT);
     }
 
     @Override
-    public void setIntelligenceIterations(double value) {
-        this.intelligenceIterations = Math.max(0.0, value);
+    public void copyFrom(double[] source) {
+        for (int i = 0; i < StatType.COUNT; i++) {
+            double clamped = Math.max(0.0, source[i]);
+            if (stats[i] != clamped) {
+                stats[i] = clamped;
+                dirtyMask |= 1L << i;
+            }
+        }
     }
 
     @Override
@@ -228,7 +148,11 @@ public class PlayerStats implements IPlayerStats {
 
     @Override
     public void setLevel(int value) {
-        this.level = Math.max(0, value);
+        int clamped = Math.max(0, value);
+        if (this.level != clamped) {
+            this.level = clamped;
+            dirtyMask |= DIRTY_LEVEL;
+        }
     }
 
     @Override
@@ -238,7 +162,11 @@ public class PlayerStats implements IPlayerStats {
 
     @Override
     public void setNickname(String value) {
-        this.nickname = Objects.requireNonNullElse(value, "");
+        String newNickname = Objects.requireNonNullElse(value, "");
+        if (!newNickname.equals(this.nickname)) {
+            this.nickname = newNickname;
+            dirtyMask |= DIRTY_NICKNAME;
+        }
     }
 
     @Override
@@ -248,7 +176,10 @@ public class PlayerStats implements IPlayerStats {
 
     @Override
     public void setFirstTimeJoining(boolean value) {
-        this.firstTimeJoining = value;
+        if (this.firstTimeJoining != value) {
+            this.firstTimeJoining = value;
+            dirtyMask |= DIRTY_FIRST_JOIN;
+        }
     }
 
     @Override
@@ -259,60 +190,13 @@ public class PlayerStats implements IPlayerStats {
 
     @Override
     public void setCurrentLevelUUID(@Nullable UUID uuid) {
-        this.currentLevelUUID = uuid;
+        if (!Objects.equals(this.currentLevelUUID, uuid)) {
+            this.currentLevelUUID = uuid;
+            dirtyMask |= DIRTY_LEVEL_UUID;
+        }
     }
 
     // --- Adders ---
-    @Override
-    public void addStrengthPoints(double value) {
-        if (value > 0) setStrengthPoints(this.strengthPoints + value);
-    }
-
-    @Override
-    public void addDexterityPoints(double value) {
-        if (value > 0) setDexterityPoints(this.dexterityPoints + value);
-    }
-
-    @Override
-    public void addVitalityPoints(double value) {
-        if (value > 0) setVitalityPoints(this.vitalityPoints + value);
-    }
-
-    @Override
-    public void addConstitutionPoints(double value) {
-        if (value > 0) setConstitutionPoints(this.constitutionPoints + value);
-    }
-
-    @Override
-    public void addIntelligencePoints(double value) {
-        if (value > 0) setIntelligencePoints(this.intelligencePoints + value);
-    }
-
-    @Override
-    public void addStrengthIterations(double value) {
-        if (value > 0) setStrengthIterations(this.strengthIterations + value);
-    }
-
-    @Override
-    public void addDexterityIterations(double value) {
-        if (value > 0) setDexterityIterations(this.dexterityIterations + value);
-    }
-
-    @Override
-    public void addVitalityIterations(double value) {
-        if (value > 0) setVitalityIterations(this.vitalityIterations + value);
-    }
-
-    @Override
-    public void addConstitutionIterations(double value) {
-        if (value > 0) setConstitutionIterations(this.constitutionIterations + value);
-    }
-
-    @Override
-    public void addIntelligenceIterations(double value) {
-        if (value > 0) setIntelligenceIterations(this.intelligenceIterations + value);
-    }
-
     @Override
     public void incrementLevel() {
         setLevel(this.level + 1);
@@ -0,0 +1,75 @@
+package net.iaxsro.rpgstats.capabilities;
+
+/**
+ * Índices del vector denso de estadísticas que guarda la capacidad PlayerStats.
+ * Las cinco primeras entradas son los puntos temporales y las cinco siguientes sus
+ * iteraciones, en el mismo orden de atributo (STR, DEX, VIT, CON, INT).
+ * El ordinal de cada constante es su posición dentro del array.
+ */
+public enum StatType {
+
+    // --- Puntos de Atributo ---
+    STRENGTH_POINTS("StrengthPoints"),
+    DEXTERITY_POINTS("DexterityPoints"),
+    VITALITY_POINTS("VitalityPoints"),
+    CONSTITUTION_POINTS("ConstitutionPoints"),
+    INTELLIGENCE_POINTS("IntelligencePoints"),
+
+    // --- Iteraciones de Atributo ---
+    STRENGTH_ITERATIONS("StrengthIterations"),
+    DEXTERITY_ITERATIONS("DexterityIterations"),
+    VITALITY_ITERATIONS("VitalityIterations"),
+    CONSTITUTION_ITERATIONS("ConstitutionIterations"),
+    INTELLIGENCE_ITERATIONS("IntelligenceIterations");
+
+    // Copia cacheada de values() para no clonar el array en cada bucle
+    public static final StatType[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+    // Número de atributos base (STR, DEX, VIT, CON, INT)
+    public static final int ATTRIBUTE_COUNT = COUNT / 2;
+
+    private final String nbtKey;
+
+    StatType(String nbtKey) {
+        this.nbtKey = nbtKey;
+    }
+
+    /**
+     * @return La clave NBT con la que se persiste esta estadística.
+     */
+    public String nbtKey() {
+        return nbtKey;
+    }
+
+    /**
+     * @return true si la entrada es un contador de iteraciones, false si son puntos.
+     */
+    public boolean isIterations() {
+        return ordinal() >= ATTRIBUTE_COUNT;
+    }
+
+    /**
+     * @return El índice del atributo base (0 = STR ... 4 = INT) al que pertenece la entrada.
+     */
+    public int attributeIndex() {
+        return ordinal() % ATTRIBUTE_COUNT;
+    }
+
+    /**
+     * Obtiene la entrada de puntos del atributo indicado.
+     *
+     * @param attributeIndex Índice del atributo base (0 = STR ... 4 = INT).
+     */
+    public static StatType points(int attributeIndex) {
+        return VALUES[attributeIndex];
+    }
+
+    /**
+     * Obtiene la entrada de iteraciones del atributo indicado.
+     *
+     * @param attributeIndex Índice del atributo base (0 = STR ... 4 = INT).
+     */
+    public static StatType iterations(int attributeIndex) {
+        return VALUES[ATTRIBUTE_COUNT + attributeIndex];
+    }
+}
@@ -2,67 +2,42 @@ package net.iaxsro.rpgstats.capabilities.util;
 
 import net.iaxsro.rpgstats.capabilities.IPlayerStats;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.capabilities.StatType;
 import net.minecraft.world.entity.LivingEntity;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
 
 /**
  * Proporciona una fachada para acceder de forma sencilla a las capacidades de IPlayerStats.
  * Permite obtener y establecer valores de estadísticas de una entidad de forma fluida.
  * Ejemplo: CapabilitiesAccesor.playerLevel.get(entity);
  * CapabilitiesAccesor.playerLevel.set(entity, 10);
+ * <p>
+ * Los accesores numéricos son primitivos (sin boxing ni lambdas por llamada). En rutas calientes
+ * conviene resolver la capacidad una sola vez con {@link #resolve(LivingEntity)} y usar las
+ * sobrecargas que reciben {@link IPlayerStats} directamente.
  */
 public class CapabilitiesAccessor {
 
     // --- Puntos de Atributo ---
-    public static final StatAccessor<Double> strengthPoints = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getStrengthPoints).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setStrengthPoints(value))
-    );
-    public static final StatAccessor<Double> dexterityPoints = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getDexterityPoints).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setDexterityPoints(value))
-    );
-    public static final StatAccessor<Double> vitalityPoints = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getVitalityPoints).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setVitalityPoints(value))
-    );
-    public static final StatAccessor<Double> constitutionPoints = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getConstitutionPoints).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setConstitutionPoints(value))
-    );
-    public static final StatAccessor<Double> intelligencePoints = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getIntelligencePoints).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setIntelligencePoints(value))
-    );
+    public static final DoubleStatAccessor strengthPoints = new DoubleStatAccessor(StatType.STRENGTH_POINTS);
+    public static final DoubleStatAccessor dexterityPoints = new DoubleStatAccessor(StatType.DEXTERITY_POINTS);
+    public static final DoubleStatAccessor vitalityPoints = new DoubleStatAccessor(StatType.VITALITY_POINTS);
+    public static final DoubleStatAccessor constitutionPoints = new DoubleStatAccessor(StatType.CONSTITUTION_POINTS);
+    public static final DoubleStatAccessor intelligencePoints = new DoubleStatAccessor(StatType.INTELLIGENCE_POINTS);
     // --- Iteraciones de Atributo ---
-    public static final StatAccessor<Double> strengthIterations = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getStrengthIterations).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setStrengthIterations(value))
-    );
-    public static final StatAccessor<Double> dexterityIterations = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getDexterityIterations).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setDexterityIterations(value))
-    );
-    public static final StatAccessor<Double> vitalityIterations = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getVitalityIterations).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setVitalityIterations(value))
-    );
-    public static final StatAccessor<Double> constitutionIterations = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getConstitutionIterations).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setConstitutionIterations(value))
-    );
-    public static final StatAccessor<Double> intelligenceIterations = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getIntelligenceIterations).orElse(0.0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setIntelligenceIterations(value))
-    );
+    public static final DoubleStatAccessor strengthIterations = new DoubleStatAccessor(StatType.STRENGTH_ITERATIONS);
+    public static final DoubleStatAccessor dexterityIterations = new DoubleStatAccessor(StatType.DEXTERITY_ITERATIONS);
+    public static final DoubleStatAccessor vitalityIterations = new DoubleStatAccessor(StatType.VITALITY_ITERATIONS);
+    public static final DoubleStatAccessor constitutionIterations = new DoubleStatAccessor(StatType.CONSTITUTION_ITERATIONS);
+    public static final DoubleStatAccessor intelligenceIterations = new DoubleStatAccessor(StatType.INTELLIGENCE_ITERATIONS);
     // --- Información del Jugador ---
-    public static final StatAccessor<Integer> playerLevel = new StatAccessor<>(
-            entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getLevel).orElse(0),
-            (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setLevel(value))
-    );
+    public static final IntStatAccessor playerLevel = new IntStatAccessor(IPlayerStats::getLevel, IPlayerStats::setLevel, 0);
     public static final StatAccessor<String> nickname = new StatAccessor<>(
             entity -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getNickname).orElse(""),
             (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setNickname(value))
@@ -76,6 +51,17 @@ public class CapabilitiesAccessor {
             (entity, value) -> entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> stats.setCurrentLevelUUID(value))
     );
 
+    /**
+     * Resuelve la capacidad de la entidad una sola vez, sin crear lambdas ni Optionals.
+     *
+     * @param entity La entidad (idealmente un jugador).
+     * @return La instancia de IPlayerStats o null si la entidad no la tiene.
+     */
+    @Nullable
+    public static IPlayerStats resolve(LivingEntity entity) {
+        return entity.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).orElse(null);
+    }
+
     /**
      * Clase interna que encapsula la lógica de getter/setter para una propiedad de capacidad.
      *
@@ -98,4 +84,81 @@ public class CapabilitiesAccessor {
             setter.accept(entity, value);
         }
     }
+
+    /**
+     * Accesor primitivo para una entrada del vector de estadísticas (puntos o iteraciones).
+     * Devuelve 0.0 si la entidad no tiene la capacidad.
+     */
+    public static final class DoubleStatAccessor {
+        private final StatType type;
+
+        public DoubleStatAccessor(StatType type) {
+            this.type = type;
+        }
+
+        public StatType type() {
+            return type;
+        }
+
+        public double get(LivingEntity entity) {
+            IPlayerStats stats = resolve(entity);
+            return stats != null ? stats.get(type) : 0.0;
+        }
+
+        public double get(IPlayerStats stats) {
+            return stats.get(type);
+        }
+
+        public void set(LivingEntity entity, double value) {
+            IPlayerStats stats = resolve(entity);
+            if (stats != null) stats.set(type, value);
+        }
+
+        public void set(IPlayerStats stats, double value) {
+            stats.set(type, value);
+        }
+
+        public void add(LivingEntity entity, double value) {
+            IPlayerStats stats = resolve(entity);
+            if (stats != null) stats.add(type, value);
+        }
+
+        public void add(IPlayerStats stats, double value) {
+            stats.add(type, value);
+        }
+    }
+
+    /**
+     * Accesor primitivo para propiedades enteras de la capacidad (ej.: nivel).
+     * Las referencias a métodos no capturan estado, por lo que no se asigna memoria por llamada.
+     */
+    public static final class IntStatAccessor {
+        private final ToIntFunction<IPlayerStats> getter;
+        private final ObjIntConsumer<IPlayerStats> setter;
+        private final int defaultValue;
+
+        public IntStatAccessor(ToIntFunction<IPlayerStats> getter, ObjIntConsumer<IPlayerStats> setter, int defaultValue) {
+            this.getter = getter;
+            this.setter = setter;
+            this.defaultValue = defaultValue;
+        }
+
+        public int get(LivingEntity entity) {
+            IPlayerStats stats = resolve(entity);
+            return stats != null ? getter.applyAsInt(stats) : defaultValue;
+        }
+
+        public int get(IPlayerStats stats) {
+            return getter.applyAsInt(stats);
+        }
+
+        public void set(LivingEntity entity, int value) {
+            IPlayerStats stats = resolve(entity);
+            if (stats != null) setter.accept(stats, value);
+        }
+
+        public void set(IPlayerStats stats, int value) {
+            setter.accept(stats, value);
+        }
+    }
 }
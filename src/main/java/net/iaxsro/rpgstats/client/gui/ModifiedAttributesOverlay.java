@@ -1,22 +1,21 @@
 package net.iaxsro.rpgstats.client.gui;
 
-import net.iaxsro.rpgstats.util.AttributeUtil;
+import net.iaxsro.rpgstats.system.AttributeBindings;
+import net.iaxsro.rpgstats.system.BonusOutput;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.chat.Component;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.ai.attributes.Attribute;
-import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraftforge.client.gui.overlay.ForgeGui;
 import net.minecraftforge.client.gui.overlay.IGuiOverlay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Supplier;
 
 /**
  * Overlay GUI que muestra los atributos de Minecraft que han sido modificados por las bonificaciones del mod RPGStats.
@@ -36,26 +35,37 @@ public class ModifiedAttributesOverlay implements IGuiOverlay {
     private static final int HEADER_COLOR = 0xFF32CD32; // Verde lima
     private static final int VALUE_COLOR = 0xFFFF6347; // Tomate/naranja para los valores
     private static final long UPDATE_INTERVAL = 2000; // Actualizar cada 2 segundos (reducido spam)
-    // Atributos opcionales (EpicFight, Forge) - Obtenidos de forma segura
-    private static final Supplier<Attribute> EF_IMPACT = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:impact"));
-    private static final Supplier<Attribute> EF_ARMOR_NEGATION = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:armor_negation"));
-    private static final Supplier<Attribute> EF_STUN_ARMOR = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:stun_armor"));
-    private static final Supplier<Attribute> EF_MAX_STAMINA = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:staminar")); // nombre original 'staminar'
-    private static final Supplier<Attribute> FORGE_SWIM_SPEED = AttributeUtil.registrySupplier(new ResourceLocation("forge:swim_speed"));
+
+    /**
+     * Fila del overlay: bonificación mostrada, clave de traducción, formato del valor,
+     * umbral de cambio y si solo se muestra cuando es positiva.
+     */
+    private record Row(BonusOutput output, String translationKey, String format, double threshold, boolean onlyPositive) {
+    }
+
+    // Filas en orden de visualización
+    private static final Row[] ROWS = {
+            new Row(BonusOutput.MAX_HEALTH, "attribute.minecraft.max_health", "%.1f", 0.01, false),
+            new Row(BonusOutput.ATTACK_DAMAGE, "attribute.minecraft.attack_damage", "%.1f", 0.01, false),
+            new Row(BonusOutput.ARMOR, "attribute.minecraft.armor", "%.1f", 0.01, false),
+            new Row(BonusOutput.MOVEMENT_SPEED, "attribute.minecraft.movement_speed", "%.3f", 0.0001, false), // Velocidad de movimiento es muy pequeña
+            new Row(BonusOutput.ATTACK_SPEED, "attribute.minecraft.attack_speed", "%.2f", 0.01, false),
+            new Row(BonusOutput.KNOCKBACK_RESISTANCE, "attribute.minecraft.knockback_resistance", "%.2f", 0.01, false),
+            new Row(BonusOutput.ARMOR_TOUGHNESS, "attribute.minecraft.armor_toughness", "%.1f", 0.01, false),
+            // Atributos adicionales solo si tienen valor > 0
+            new Row(BonusOutput.SWIM_SPEED, "attribute.forge.swim_speed", "%.2f", 0.01, true),
+            new Row(BonusOutput.IMPACT, "attribute.epicfight.impact", "%.1f", 0.01, true),
+            new Row(BonusOutput.ARMOR_NEGATION, "attribute.epicfight.armor_negation", "%.1f", 0.01, true),
+            new Row(BonusOutput.STUN_ARMOR, "attribute.epicfight.stun_armor", "%.1f", 0.01, true),
+            new Row(BonusOutput.STAMINA, "attribute.epicfight.max_stamina", "%.1f", 0.01, true)
+    };
+
+    // Filas cuyo atributo existe en el modpack, resueltas una vez con AttributeBindings
+    private static Row[] liveRows = null;
+    private static Attribute[] liveAttributes = null;
     // Variables para optimización y cache
     private static boolean isVisible = true;
-    private static double lastMaxHealth = -1;
-    private static double lastAttackDamage = -1;
-    private static double lastArmor = -1;
-    private static double lastMovementSpeed = -1;
-    private static double lastAttackSpeed = -1;
-    private static double lastKnockbackResistance = -1;
-    private static double lastArmorToughness = -1;
-    private static double lastSwimSpeed = -1;
-    private static double lastImpact = -1;
-    private static double lastArmorNegation = -1;
-    private static double lastStunArmor = -1;
-    private static double lastMaxStamina = -1;
+    private static double[] lastValues = null;
     private static String[] cachedLines = null;
     private static long lastUpdateTime = 0;
 
@@ -88,22 +98,29 @@ public class ModifiedAttributesOverlay implements IGuiOverlay {
      */
     public static void clearCache() {
         cachedLines = null;
-        lastMaxHealth = -1;
-        lastAttackDamage = -1;
-        lastArmor = -1;
-        lastMovementSpeed = -1;
-        lastAttackSpeed = -1;
-        lastKnockbackResistance = -1;
-        lastArmorToughness = -1;
-        lastSwimSpeed = -1;
-        lastImpact = -1;
-        lastArmorNegation = -1;
-        lastStunArmor = -1;
-        lastMaxStamina = -1;
+        if (lastValues != null) {
+            Arrays.fill(lastValues, -1);
+        }
         lastUpdateTime = 0;
         LOGGER.debug("ModifiedAttributesOverlay: Cache limpiado");
     }
 
+    private static void resolveRows() {
+        List<Row> rows = new ArrayList<>(ROWS.length);
+        List<Attribute> attributes = new ArrayList<>(ROWS.length);
+        for (Row row : ROWS) {
+            Attribute attribute = AttributeBindings.attribute(row.output());
+            if (attribute != null) {
+                rows.add(row);
+                attributes.add(attribute);
+            }
+        }
+        liveRows = rows.toArray(new Row[0]);
+        liveAttributes = attributes.toArray(new Attribute[0]);
+        lastValues = new double[liveRows.length];
+        Arrays.fill(lastValues, -1);
+    }
+
     @Override
     public void render(ForgeGui gui, GuiGraphics guiGraphics, float partialTick, int screenWidth, int screenHeight) {
         if (!isVisible) {
@@ -142,109 +159,31 @@ public class ModifiedAttributesOverlay implements IGuiOverlay {
      */
     private void updateAttributeCache(LocalPlayer player) {
         try {
-            // Obtener valores actuales de los atributos vanilla
-            double currentMaxHealth = player.getAttributeValue(Attributes.MAX_HEALTH);
-            double currentAttackDamage = player.getAttributeValue(Attributes.ATTACK_DAMAGE);
-            double currentArmor = player.getAttributeValue(Attributes.ARMOR);
-            double currentMovementSpeed = player.getAttributeValue(Attributes.MOVEMENT_SPEED);
-            double currentAttackSpeed = player.getAttributeValue(Attributes.ATTACK_SPEED);
-            double currentKnockbackResistance = player.getAttributeValue(Attributes.KNOCKBACK_RESISTANCE);
-            double currentArmorToughness = player.getAttributeValue(Attributes.ARMOR_TOUGHNESS);
-
-            // Obtener valores de atributos adicionales
-            double currentSwimSpeed = 0.0;
-            double currentImpact = 0.0;
-            double currentArmorNegation = 0.0;
-            double currentStunArmor = 0.0;
-            double currentMaxStamina = 0.0;
-
-            // Obtener valores de Forge
-            Attribute forgeSwimSpeedAttr = FORGE_SWIM_SPEED.get();
-            if (forgeSwimSpeedAttr != null) {
-                currentSwimSpeed = player.getAttributeValue(forgeSwimSpeedAttr);
-            }
-
-            // Obtener valores de Epic Fight
-            Attribute efImpactAttr = EF_IMPACT.get();
-            if (efImpactAttr != null) {
-                currentImpact = player.getAttributeValue(efImpactAttr);
-            }
-
-            Attribute efArmorNegationAttr = EF_ARMOR_NEGATION.get();
-            if (efArmorNegationAttr != null) {
-                currentArmorNegation = player.getAttributeValue(efArmorNegationAttr);
-            }
-
-            Attribute efStunArmorAttr = EF_STUN_ARMOR.get();
-            if (efStunArmorAttr != null) {
-                currentStunArmor = player.getAttributeValue(efStunArmorAttr);
-            }
-
-            Attribute efMaxStaminaAttr = EF_MAX_STAMINA.get();
-            if (efMaxStaminaAttr != null) {
-                currentMaxStamina = player.getAttributeValue(efMaxStaminaAttr);
+            if (liveRows == null) {
+                resolveRows();
             }
 
             // Verificar si algún valor ha cambiado significativamente
-            boolean hasChanged = Math.abs(currentMaxHealth - lastMaxHealth) > 0.01 ||
-                    Math.abs(currentAttackDamage - lastAttackDamage) > 0.01 ||
-                    Math.abs(currentArmor - lastArmor) > 0.01 ||
-                    Math.abs(currentMovementSpeed - lastMovementSpeed) > 0.0001 || // Velocidad de movimiento es muy pequeña
-                    Math.abs(currentAttackSpeed - lastAttackSpeed) > 0.01 ||
-                    Math.abs(currentKnockbackResistance - lastKnockbackResistance) > 0.01 ||
-                    Math.abs(currentArmorToughness - lastArmorToughness) > 0.01 ||
-                    Math.abs(currentSwimSpeed - lastSwimSpeed) > 0.01 ||
-                    Math.abs(currentImpact - lastImpact) > 0.01 ||
-                    Math.abs(currentArmorNegation - lastArmorNegation) > 0.01 ||
-                    Math.abs(currentStunArmor - lastStunArmor) > 0.01 ||
-                    Math.abs(currentMaxStamina - lastMaxStamina) > 0.01;
+            boolean hasChanged = false;
+            for (int i = 0; i < liveRows.length; i++) {
+                double current = player.getAttributeValue(liveAttributes[i]);
+                if (Math.abs(current - lastValues[i]) > liveRows[i].threshold()) {
+                    lastValues[i] = current;
+                    hasChanged = true;
+                }
+            }
 
             if (hasChanged || cachedLines == null) {
-                // Actualizar valores almacenados
-                lastMaxHealth = currentMaxHealth;
-                lastAttackDamage = currentAttackDamage;
-                lastArmor = currentArmor;
-                lastMovementSpeed = currentMovementSpeed;
-                lastAttackSpeed = currentAttackSpeed;
-                lastKnockbackResistance = currentKnockbackResistance;
-                lastArmorToughness = currentArmorToughness;
-                lastSwimSpeed = currentSwimSpeed;
-                lastImpact = currentImpact;
-                lastArmorNegation = currentArmorNegation;
-                lastStunArmor = currentStunArmor;
-                lastMaxStamina = currentMaxStamina;
-
                 // Crear las líneas de texto con los valores actuales
                 List<String> linesList = new ArrayList<>();
 
                 linesList.add(Component.translatable("overlay.modified_attributes.header").getString());
-                linesList.add(String.format("%s: %.1f", Component.translatable("attribute.minecraft.max_health").getString(), currentMaxHealth));
-                linesList.add(String.format("%s: %.1f", Component.translatable("attribute.minecraft.attack_damage").getString(), currentAttackDamage));
-                linesList.add(String.format("%s: %.1f", Component.translatable("attribute.minecraft.armor").getString(), currentArmor));
-                linesList.add(String.format("%s: %.3f", Component.translatable("attribute.minecraft.movement_speed").getString(), currentMovementSpeed));
-                linesList.add(String.format("%s: %.2f", Component.translatable("attribute.minecraft.attack_speed").getString(), currentAttackSpeed));
-                linesList.add(String.format("%s: %.2f", Component.translatable("attribute.minecraft.knockback_resistance").getString(), currentKnockbackResistance));
-                linesList.add(String.format("%s: %.1f", Component.translatable("attribute.minecraft.armor_toughness").getString(), currentArmorToughness));
-
-                // Atributos adicionales solo si tienen valor > 0
-                if (currentSwimSpeed > 0.0) {
-                    linesList.add(String.format("%s: %.2f", Component.translatable("attribute.forge.swim_speed").getString(), currentSwimSpeed));
-                }
-
-                if (currentImpact > 0.0) {
-                    linesList.add(String.format("%s: %.1f", Component.translatable("attribute.epicfight.impact").getString(), currentImpact));
-                }
-
-                if (currentArmorNegation > 0.0) {
-                    linesList.add(String.format("%s: %.1f", Component.translatable("attribute.epicfight.armor_negation").getString(), currentArmorNegation));
-                }
-
-                if (currentStunArmor > 0.0) {
-                    linesList.add(String.format("%s: %.1f", Component.translatable("attribute.epicfight.stun_armor").getString(), currentStunArmor));
-                }
-
-                if (currentMaxStamina > 0.0) {
-                    linesList.add(String.format("%s: %.1f", Component.translatable("attribute.epicfight.max_stamina").getString(), currentMaxStamina));
+                for (int i = 0; i < liveRows.length; i++) {
+                    Row row = liveRows[i];
+                    if (row.onlyPositive() && lastValues[i] <= 0.0) {
+                        continue;
+                    }
+                    linesList.add(String.format("%s: " + row.format(), Component.translatable(row.translationKey()).getString(), lastValues[i]));
                 }
 
                 // Convertir la lista a array
@@ -4,10 +4,11 @@ import com.mojang.brigadier.CommandDispatcher;
 import net.iaxsro.rpgstats.RpgStatsMod;
 import net.iaxsro.rpgstats.capabilities.IPlayerStats;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
-import net.iaxsro.rpgstats.network.ClientboundSyncPlayerStatsPacket;
-import net.iaxsro.rpgstats.network.PacketHandler;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
 import net.iaxsro.rpgstats.registry.AttributeRegistry;
 import net.iaxsro.rpgstats.system.AttributeCalculator;
+import net.iaxsro.rpgstats.system.LevelUpPipeline;
 import net.iaxsro.rpgstats.system.LevelingManager;
 import net.iaxsro.rpgstats.util.ChatUtil;
 import net.minecraft.ChatFormatting;
@@ -94,6 +95,13 @@ public class StatsCommand {
             return 0;
         }
 
+        // Varios jugadores: se procesan por trozos en los próximos ticks y se informa al terminar
+        if (targets.size() > 1) {
+            int queued = LevelUpPipeline.submit(targets, source);
+            source.sendSuccess(() -> Component.translatable("command.rpgstats.levelup.queued", queued), true);
+            return queued;
+        }
+
         // Usar AtomicInteger para el contador dentro de lambdas
         AtomicInteger successCounter = new AtomicInteger(0);
         for (ServerPlayer target : targets) {
@@ -105,8 +113,9 @@ public class StatsCommand {
                 }
 
                 // Llamar al LevelingManager
-                LevelingManager.processLevelUp(target);
-                successCounter.incrementAndGet();
+                if (LevelingManager.processLevelUp(target)) {
+                    successCounter.incrementAndGet();
+                }
 
             } catch (Exception e) {
                 LOGGER.error("Error al intentar subir de nivel a {}: {}",
@@ -201,16 +210,14 @@ public class StatsCommand {
             try {
                 // Obtener LazyOptional y usar ifPresent
                 target.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> {
-                    stats.setStrengthPoints(0);
-                    stats.setDexterityPoints(0);
-                    stats.setVitalityPoints(0);
-                    stats.setConstitutionPoints(0);
-                    stats.setIntelligencePoints(0);
+                    for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+                        stats.set(StatType.points(i), 0);
+                    }
                     //stats.setIterations(0);
 
-                    // Sincronizar cambios
+                    // Programar sincronización (solo se envía si algún punto no estaba ya a cero)
                     try {
-                        PacketHandler.sendToPlayer(target, new ClientboundSyncPlayerStatsPacket(stats.writeNBT()));
+                        PlayerStatsSyncScheduler.markDirty(target);
                         successCounter.incrementAndGet();
                     } catch (Exception e) {
                         LOGGER.error("Error al sincronizar datos para {}: {}", target.getName().getString(), e.getMessage(), e);
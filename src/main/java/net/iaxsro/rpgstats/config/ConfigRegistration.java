@@ -1,6 +1,11 @@
 package net.iaxsro.rpgstats.config;
 
 import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.system.BonusCoefficients;
+import net.iaxsro.rpgstats.system.BonusMemoCache;
+import net.iaxsro.rpgstats.system.BonusRecomputeService;
+import net.iaxsro.rpgstats.system.DiminishingReturnsTable;
+import net.iaxsro.rpgstats.system.StatFormulas;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
@@ -25,12 +30,25 @@ public class ConfigRegistration {
     public static void onLoad(final ModConfigEvent.Loading event) {
         // Puedes añadir lógica aquí si necesitas recalcular algo cuando la config se carga
         RpgStatsMod.LOGGER.info("Cargando configuración para {}: {}", RpgStatsMod.MOD_ID, event.getConfig().getFileName());
+        if (event.getConfig().getSpec() == ModConfig.COMMON_SPEC) {
+            BonusCoefficients.compile();
+            StatFormulas.compile();
+            DiminishingReturnsTable.rebuild();
+        }
     }
 
     @SubscribeEvent
     public static void onReload(final ModConfigEvent.Reloading event) {
         // Similar a onLoad, pero para recargas
         RpgStatsMod.LOGGER.info("Recargando configuración para {}: {}", RpgStatsMod.MOD_ID, event.getConfig().getFileName());
-        // Aquí podrías invalidar cachés o actualizar valores derivados de la configuración
+        // Recompila los valores derivados de la configuración e invalida las bonificaciones cacheadas
+        if (event.getConfig().getSpec() == ModConfig.COMMON_SPEC) {
+            BonusCoefficients.compile();
+            StatFormulas.compile();
+            DiminishingReturnsTable.rebuild();
+            BonusMemoCache.bumpEpoch();
+            // Los jugadores conectados reciben los nuevos valores sin esperar a subir de nivel
+            BonusRecomputeService.requestRecompute();
+        }
     }
 }
\ No newline at end of file
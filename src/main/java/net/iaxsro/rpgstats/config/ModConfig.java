@@ -1,8 +1,13 @@
 package net.iaxsro.rpgstats.config;
 
+import net.iaxsro.rpgstats.system.BonusOutput;
 import net.minecraftforge.common.ForgeConfigSpec;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 // Nota: Esta clase ahora solo define las configuraciones. No las registra.
 public class ModConfig {
 
@@ -60,6 +65,16 @@ public class ModConfig {
         public final ForgeConfigSpec.DoubleValue constitutionAttackKnockbackDivider;
         public final ForgeConfigSpec.DoubleValue constitutionArmorToughnessDivider;
 
+        // --- Expressions ---
+        public final Map<BonusOutput, ForgeConfigSpec.ConfigValue<String>> bonusFormulas;
+        public final ForgeConfigSpec.ConfigValue<String> strengthGainFormula;
+
+        // --- Storage ---
+        public final ForgeConfigSpec.BooleanValue useSegmentStorage;
+
+        // --- Performance ---
+        public final ForgeConfigSpec.LongValue mainThreadBudgetNanos;
+
 
         // Constructor de la clase Common donde se definen las opciones
         Common(ForgeConfigSpec.Builder builder) {
@@ -119,6 +134,40 @@ public class ModConfig {
             constitutionArmorToughnessDivider = builder.defineInRange("armorToughnessDivider", 75.0, 1.0, Double.MAX_VALUE);
             builder.pop(); // Fin de Constitution
 
+            // --- Expressions ---
+            builder.comment("Optional formula expressions that replace the built-in ones. Leave empty to keep the dividers above.",
+                    "Operators: + - * / ^ and parentheses. Functions: min, max, pow, sqrt, abs, log, exp, clamp(x, lo, hi).").push("Expressions");
+            Map<BonusOutput, ForgeConfigSpec.ConfigValue<String>> formulas = new EnumMap<>(BonusOutput.class);
+            for (BonusOutput output : BonusOutput.VALUES) {
+                String key = Character.toLowerCase(output.key().charAt(0)) + output.key().substring(1);
+                formulas.put(output, builder
+                        .comment("Total " + output.key() + " bonus. Variables: str, dex, vit, con (e.g. str/30 + con^0.5)")
+                        .define(key, ""));
+            }
+            bonusFormulas = Collections.unmodifiableMap(formulas);
+            strengthGainFormula = builder
+                    .comment("Strength gained per hit. Variables: damage, iterations, potential, multiplier (pointsMultiplier),",
+                            "variation (counterVariation), exponent (dividerExponent). Built-in equivalent:",
+                            "potential * multiplier * 0.01 / (1 + variation * max(0, iterations))^max(0.1, exponent) * clamp(damage / potential, 0, 1)")
+                    .define("strengthGainOnHit", "");
+            builder.pop(); // Fin de Expressions
+
+            // --- Storage ---
+            builder.comment("Level history storage settings").push("Storage");
+            useSegmentStorage = builder
+                    .comment("Store every player's level history in shared memory-mapped segment files instead of one file per player.",
+                            "Existing per-player data is migrated on first access. Takes effect when the world is loaded. Default: false")
+                    .define("useSegmentStorage", false);
+            builder.pop(); // Fin de Storage
+
+            // --- Performance ---
+            builder.comment("Server thread scheduling settings").push("Performance");
+            mainThreadBudgetNanos = builder
+                    .comment("Time per server tick (in nanoseconds) shared by all main-thread work of background jobs (applying recalculated bonuses, batched level-ups).",
+                            "Results that do not fit are applied on the following ticks. Default: 2000000 (2 ms)")
+                    .defineInRange("mainThreadBudgetNanos", 2_000_000L, 100_000L, 50_000_000L);
+            builder.pop(); // Fin de Performance
+
             builder.pop(); // Fin de RPG Stats
         }
     }
@@ -2,8 +2,8 @@ package net.iaxsro.rpgstats.event;
 
 import net.iaxsro.rpgstats.RpgStatsMod;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
-import net.iaxsro.rpgstats.network.ClientboundSyncPlayerStatsPacket;
-import net.iaxsro.rpgstats.network.PacketHandler;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
 import net.iaxsro.rpgstats.registry.AttributeRegistry;
 import net.iaxsro.rpgstats.system.LevelingManager;
 import net.minecraft.server.level.ServerPlayer;
@@ -54,7 +54,13 @@ public class PlayerLifecycleEvents {
         original.reviveCaps();
         original.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(oldStats -> {
             clone.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(newStats -> {
-                newStats.readNBT(oldStats.writeNBT());
+                double[] snapshot = new double[StatType.COUNT];
+                oldStats.copyInto(snapshot);
+                newStats.copyFrom(snapshot);
+                newStats.setLevel(oldStats.getLevel());
+                newStats.setNickname(oldStats.getNickname());
+                newStats.setFirstTimeJoining(oldStats.isFirstTimeJoining());
+                newStats.setCurrentLevelUUID(oldStats.getCurrentLevelUUID());
             });
         });
 
@@ -94,6 +100,7 @@ public class PlayerLifecycleEvents {
 
         // Finalmente sincronizar los datos al cliente
         syncPlayerStats(player);
+        // La entidad (y su parche de Epic Fight) es nueva tras reaparecer: se registran sus listeners una vez
         EventListeners.applyAllEventListeners(player);
     }
 
@@ -112,15 +119,11 @@ public class PlayerLifecycleEvents {
     }
 
     /**
-     * Método helper para obtener la capacidad y enviar el paquete de sincronización.
+     * Método helper para enviar la capacidad completa de inmediato.
      *
      * @param serverPlayer El jugador al que sincronizar los datos.
      */
     private static void syncPlayerStats(ServerPlayer serverPlayer) {
-        serverPlayer.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> {
-            ClientboundSyncPlayerStatsPacket packet = new ClientboundSyncPlayerStatsPacket(stats.writeNBT());
-            PacketHandler.sendToPlayer(serverPlayer, packet);
-            LOGGER.trace("Paquete SyncPlayerStats enviado a {}", serverPlayer.getName().getString());
-        });
+        PlayerStatsSyncScheduler.syncNow(serverPlayer);
     }
 }
@@ -3,8 +3,7 @@ package net.iaxsro.rpgstats.event;
 import net.iaxsro.rpgstats.RpgStatsMod;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
 import net.iaxsro.rpgstats.config.ModConfig;
-import net.iaxsro.rpgstats.network.ClientboundSyncPlayerStatsPacket;
-import net.iaxsro.rpgstats.network.PacketHandler;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
 import net.iaxsro.rpgstats.registry.AttributeRegistry;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
@@ -46,7 +45,7 @@ public class PlayerUpdateEvents {
 
                     // Sincronizar el cambio (nickname y firstTimeJoining) al cliente
                     if (player instanceof ServerPlayer serverPlayer) {
-                        PacketHandler.sendToPlayer(serverPlayer, new ClientboundSyncPlayerStatsPacket(stats.writeNBT()));
+                        PlayerStatsSyncScheduler.markDirty(serverPlayer);
                         LOGGER.debug("Nickname y estado firstJoin sincronizados para {}", playerName);
                     }
                 }
@@ -3,8 +3,7 @@ package net.iaxsro.rpgstats.item;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
 import net.iaxsro.rpgstats.client.gui.AttributeValuesOverlay;
 import net.iaxsro.rpgstats.client.gui.ModifiedAttributesOverlay;
-import net.iaxsro.rpgstats.network.ClientboundSyncPlayerStatsPacket;
-import net.iaxsro.rpgstats.network.PacketHandler;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -96,8 +95,8 @@ public class AttributePointGrantItem extends Item {
 
                 // Sincronizar inmediatamente al cliente para actualizar overlays
                 if (pPlayer instanceof ServerPlayer serverPlayer) {
-                    PacketHandler.sendToPlayer(serverPlayer, new ClientboundSyncPlayerStatsPacket(stats.writeNBT()));
-                    LOGGER.debug("Synchronized attribute data to client for overlay update");
+                    PlayerStatsSyncScheduler.markDirty(serverPlayer);
+                    LOGGER.debug("Scheduled attribute data sync to client for overlay update");
                 }
 
                 // Consumir el ítem después de usarlo
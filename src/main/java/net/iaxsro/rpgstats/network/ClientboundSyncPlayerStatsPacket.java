@@ -1,49 +1,94 @@
 package net.iaxsro.rpgstats.network;
 
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.capabilities.StatType;
 import net.minecraft.client.Minecraft;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.network.NetworkEvent;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.UUID;
 import java.util.function.Supplier;
 
 /**
  * Paquete enviado DESDE el servidor HACIA el cliente para sincronizar
- * los datos completos de la capacidad PlayerStats.
+ * los datos de la capacidad PlayerStats.
+ * <p>
+ * Formato binario: una máscara de campos (varlong, bits de IPlayerStats.DIRTY_*)
+ * seguida únicamente de los valores marcados, en orden fijo:
+ * estadísticas (double, por ordinal de StatType), nivel (varint), nickname (utf),
+ * firstTimeJoining (boolean) y UUID de nivel (boolean de presencia + UUID).
+ * La variante completa ({@link #full(IPlayerStats)}) marca todos los campos.
  */
 public class ClientboundSyncPlayerStatsPacket {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientboundSyncPlayerStatsPacket.class);
-    private final CompoundTag dataTag; // Usamos NBT para transferir los datos
+
+    private final long mask;
+    // Solo las posiciones marcadas en 'mask' son significativas
+    private final double[] values;
+    private final int level;
+    private final String nickname;
+    private final boolean firstTimeJoining;
+    @Nullable
+    private final UUID levelUUID;
+
+    private ClientboundSyncPlayerStatsPacket(long mask, double[] values, int level, String nickname,
+                                             boolean firstTimeJoining, @Nullable UUID levelUUID) {
+        this.mask = mask;
+        this.values = values;
+        this.level = level;
+        this.nickname = nickname;
+        this.firstTimeJoining = firstTimeJoining;
+        this.levelUUID = levelUUID;
+    }
 
     /**
-     * Constructor para crear el paquete ANTES de enviarlo (lado servidor).
+     * Crea un paquete con todos los campos (login, respawn, cambio de dimensión).
      *
-     * @param dataTag El NBT completo de la capacidad PlayerStats.
+     * @param stats La capacidad del jugador en el servidor.
      */
-    public ClientboundSyncPlayerStatsPacket(CompoundTag dataTag) {
-        this.dataTag = dataTag;
-        LOGGER.trace("Paquete SyncPlayerStats creado con tag: {}", dataTag); // Trace para debugging
+    public static ClientboundSyncPlayerStatsPacket full(IPlayerStats stats) {
+        return delta(stats, IPlayerStats.DIRTY_ALL);
+    }
+
+    /**
+     * Crea un paquete con solo los campos indicados por la máscara.
+     * Los valores se capturan en este momento, no al codificar.
+     *
+     * @param stats La capacidad del jugador en el servidor.
+     * @param mask  Máscara de campos modificados (normalmente {@link IPlayerStats#consumeDirty()}).
+     */
+    public static ClientboundSyncPlayerStatsPacket delta(IPlayerStats stats, long mask) {
+        double[] values = new double[StatType.COUNT];
+        stats.copyInto(values);
+        return new ClientboundSyncPlayerStatsPacket(mask, values, stats.getLevel(), stats.getNickname(),
+                stats.isFirstTimeJoining(), stats.getCurrentLevelUUID());
     }
 
     /**
      * Constructor para decodificar el paquete DESPUÉS de recibirlo (lado cliente).
-     * Lee el NBT del buffer.
+     * Lee únicamente los campos presentes en la máscara.
      *
      * @param buffer El buffer de bytes recibido.
      */
     public ClientboundSyncPlayerStatsPacket(FriendlyByteBuf buffer) {
-        this.dataTag = buffer.readNbt();
-        LOGGER.trace("Paquete SyncPlayerStats decodificado con tag: {}", dataTag); // Trace para debugging
-        if (this.dataTag == null) {
-            LOGGER.warn("Se recibió un paquete SyncPlayerStats con NBT nulo!");
-            // Considera lanzar una excepción o usar un tag vacío por defecto
-            // throw new IllegalStateException("Received null NBT tag in SyncPlayerStatsPacket");
+        this.mask = buffer.readVarLong();
+        this.values = new double[StatType.COUNT];
+        for (int i = 0; i < StatType.COUNT; i++) {
+            if ((mask & (1L << i)) != 0) {
+                values[i] = buffer.readDouble();
+            }
         }
+        this.level = (mask & IPlayerStats.DIRTY_LEVEL) != 0 ? buffer.readVarInt() : 0;
+        this.nickname = (mask & IPlayerStats.DIRTY_NICKNAME) != 0 ? buffer.readUtf() : "";
+        this.firstTimeJoining = (mask & IPlayerStats.DIRTY_FIRST_JOIN) != 0 && buffer.readBoolean();
+        this.levelUUID = (mask & IPlayerStats.DIRTY_LEVEL_UUID) != 0 && buffer.readBoolean() ? buffer.readUUID() : null;
+        LOGGER.trace("Paquete SyncPlayerStats decodificado con máscara {}", Long.toBinaryString(mask));
     }
 
     /**
@@ -53,10 +98,40 @@ public class ClientboundSyncPlayerStatsPacket {
      * @param buffer  El buffer donde escribir.
      */
     public static void encode(ClientboundSyncPlayerStatsPacket message, FriendlyByteBuf buffer) {
-        buffer.writeNbt(message.dataTag);
+        long mask = message.mask;
+        buffer.writeVarLong(mask);
+        for (int i = 0; i < StatType.COUNT; i++) {
+            if ((mask & (1L << i)) != 0) {
+                buffer.writeDouble(message.values[i]);
+            }
+        }
+        if ((mask & IPlayerStats.DIRTY_LEVEL) != 0) buffer.writeVarInt(message.level);
+        if ((mask & IPlayerStats.DIRTY_NICKNAME) != 0) buffer.writeUtf(message.nickname);
+        if ((mask & IPlayerStats.DIRTY_FIRST_JOIN) != 0) buffer.writeBoolean(message.firstTimeJoining);
+        if ((mask & IPlayerStats.DIRTY_LEVEL_UUID) != 0) {
+            buffer.writeBoolean(message.levelUUID != null);
+            if (message.levelUUID != null) buffer.writeUUID(message.levelUUID);
+        }
         LOGGER.trace("Paquete SyncPlayerStats codificado.");
     }
 
+    /**
+     * Aplica los campos marcados sobre la capacidad del cliente.
+     */
+    private void applyTo(IPlayerStats stats) {
+        for (StatType type : StatType.VALUES) {
+            if ((mask & IPlayerStats.dirtyBit(type)) != 0) {
+                stats.set(type, values[type.ordinal()]);
+            }
+        }
+        if ((mask & IPlayerStats.DIRTY_LEVEL) != 0) stats.setLevel(level);
+        if ((mask & IPlayerStats.DIRTY_NICKNAME) != 0) stats.setNickname(nickname);
+        if ((mask & IPlayerStats.DIRTY_FIRST_JOIN) != 0) stats.setFirstTimeJoining(firstTimeJoining);
+        if ((mask & IPlayerStats.DIRTY_LEVEL_UUID) != 0) stats.setCurrentLevelUUID(levelUUID);
+        // En el cliente no hay nada que reenviar
+        stats.consumeDirty();
+    }
+
     /**
      * Método estático para manejar el paquete recibido (lado cliente).
      * Se asegura de ejecutarse en el hilo principal del cliente.
@@ -69,17 +144,16 @@ public class ClientboundSyncPlayerStatsPacket {
         context.enqueueWork(() -> {
             // Código ejecutado en el hilo principal del CLIENTE
             Player player = Minecraft.getInstance().player;
-            if (player != null && message.dataTag != null) {
+            if (player != null) {
                 // Obtiene la capacidad del jugador del lado del cliente
                 player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(playerStats -> {
-                    // Actualiza los datos de la capacidad usando el NBT recibido
-                    playerStats.readNBT(message.dataTag); // Asume que PlayerStats tiene readNBT
+                    message.applyTo(playerStats);
                     LOGGER.debug("Capacidad PlayerStats del cliente actualizada.");
                 });
             } else {
-                LOGGER.warn("No se pudo manejar SyncPlayerStats: Player es null o dataTag es null.");
+                LOGGER.warn("No se pudo manejar SyncPlayerStats: Player es null.");
             }
         });
         context.setPacketHandled(true); // Marca el paquete como procesado
     }
-}
\ No newline at end of file
+}
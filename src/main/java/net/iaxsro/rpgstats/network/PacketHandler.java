@@ -19,7 +19,7 @@ import java.util.function.Supplier;
 public class PacketHandler {
 
     private static final Logger LOGGER = RpgStatsMod.LOGGER;
-    private static final String PROTOCOL_VERSION = "1"; // Versión del protocolo de red
+    private static final String PROTOCOL_VERSION = "2"; // Versión del protocolo de red (2: sync binario por máscara)
 
     // El canal de comunicación principal para el mod
     public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
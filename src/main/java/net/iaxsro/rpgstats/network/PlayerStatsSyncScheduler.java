@@ -0,0 +1,136 @@
+package net.iaxsro.rpgstats.network;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
+import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.system.PlayerStatTable;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Agrupa las sincronizaciones de PlayerStats: los distintos sistemas solo marcan al jugador
+ * con {@link #markDirty(ServerPlayer)} y al final del tick del servidor se envía como máximo
+ * un paquete delta por jugador con los campos que realmente cambiaron.
+ * Cada envío actualiza también la fila del jugador en {@link PlayerStatTable}.
+ * Todas las llamadas deben hacerse desde el hilo del servidor.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class PlayerStatsSyncScheduler {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Jugadores pendientes de sincronizar (orden de llegada, sin duplicados)
+    private static final Set<ServerPlayer> PENDING = new LinkedHashSet<>();
+
+    // --- Métricas ---
+    private static long requestedCount = 0; // Llamadas a markDirty
+    private static long coalescedCount = 0; // Peticiones absorbidas por otra del mismo tick
+    private static long skippedCount = 0;   // Jugadores marcados sin cambios reales al vaciar la cola
+    private static long sentCount = 0;      // Paquetes enviados (delta + completos)
+    private static long forcedCount = 0;    // Envíos inmediatos completos (login, respawn, dimensión)
+
+    private PlayerStatsSyncScheduler() {
+    }
+
+    /**
+     * Marca al jugador para sincronizar al final del tick actual.
+     * Varias llamadas en el mismo tick producen un único paquete.
+     *
+     * @param player El jugador cuyos datos han cambiado.
+     */
+    public static void markDirty(ServerPlayer player) {
+        requestedCount++;
+        if (!PENDING.add(player)) {
+            coalescedCount++;
+        }
+    }
+
+    /**
+     * Envía de inmediato una copia completa de la capacidad, sin esperar al final del tick.
+     * Se usa cuando el cliente acaba de crear su entidad (login, respawn, cambio de dimensión).
+     *
+     * @param player El jugador al que sincronizar.
+     */
+    public static void syncNow(ServerPlayer player) {
+        PENDING.remove(player);
+        player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).ifPresent(stats -> {
+            // El envío completo incluye cualquier cambio pendiente
+            stats.consumeDirty();
+            PacketHandler.sendToPlayer(player, ClientboundSyncPlayerStatsPacket.full(stats));
+            PlayerStatTable.refresh(player, stats);
+            sentCount++;
+            forcedCount++;
+            LOGGER.trace("Paquete SyncPlayerStats completo enviado a {}", player.getName().getString());
+        });
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(final TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || PENDING.isEmpty()) {
+            return;
+        }
+
+        for (ServerPlayer player : PENDING) {
+            if (player.isRemoved() || player.hasDisconnected()) {
+                continue;
+            }
+            IPlayerStats stats = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).orElse(null);
+            if (stats == null) {
+                continue;
+            }
+            long dirty = stats.consumeDirty();
+            if (dirty == 0L) {
+                skippedCount++;
+                continue;
+            }
+            PacketHandler.sendToPlayer(player, ClientboundSyncPlayerStatsPacket.delta(stats, dirty));
+            PlayerStatTable.refresh(player, stats);
+            sentCount++;
+        }
+        PENDING.clear();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            PENDING.remove(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        LOGGER.debug("Sync PlayerStats: {} peticiones, {} agrupadas, {} sin cambios, {} paquetes enviados ({} inmediatos).",
+                requestedCount, coalescedCount, skippedCount, sentCount, forcedCount);
+        PENDING.clear();
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getRequestedCount() {
+        return requestedCount;
+    }
+
+    public static long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public static long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public static long getSentCount() {
+        return sentCount;
+    }
+
+    public static long getForcedCount() {
+        return forcedCount;
+    }
+}
@@ -8,6 +8,8 @@ import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 
+import java.util.List;
+
 public class AttributeRegistry {
 
     // 1. Crea el DeferredRegister para Atributos
@@ -39,6 +41,20 @@ public class AttributeRegistry {
             () -> new RangedAttribute("attribute." + RpgStatsMod.MOD_ID + ".intelligence", 0.0D, 0.0D, 1000.0D) // Ajustado max a 1000 para consistencia, si 100 era intencional, puedes cambiarlo
                     .setSyncable(true));
 
+    // Atributos base en el mismo orden que StatType#attributeIndex() (STR, DEX, VIT, CON, INT)
+    private static final List<RegistryObject<Attribute>> BASE_ATTRIBUTES =
+            List.of(STRENGTH, DEXTERITY, VITALITY, CONSTITUTION, INTELLIGENCE);
+
+    /**
+     * Obtiene el atributo base asociado a un índice de StatType.
+     *
+     * @param attributeIndex Índice del atributo (0 = STR ... 4 = INT).
+     * @return El atributo registrado.
+     */
+    public static Attribute byStatIndex(int attributeIndex) {
+        return BASE_ATTRIBUTES.get(attributeIndex).get();
+    }
+
     // 3. Método para registrar el DeferredRegister en el bus de eventos del Mod
     // Este método es llamado desde la clase principal del mod (RpgStatsMod).
     public static void register(IEventBus eventBus) {
@@ -0,0 +1,138 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabla única que enlaza cada {@link BonusOutput} con el atributo que modifica.
+ * <p>
+ * Los atributos opcionales (Epic Fight, Forge) se buscan en el registro una sola vez, la primera
+ * vez que se usa la tabla (los registros ya están congelados en ese momento), y solo se guardan
+ * los presentes en el modpack. Los bucles de aplicar, quitar y mostrar modificadores recorren
+ * {@link #live()} sin comprobar atributos ausentes.
+ */
+public final class AttributeBindings {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    /**
+     * Enlace entre una bonificación y su atributo.
+     */
+    public static final class Binding {
+        private final BonusOutput output;
+        private final Attribute attribute;
+        private final AttributeModifier.Operation operation;
+        private final double sign;
+
+        private Binding(BonusOutput output, Attribute attribute, AttributeModifier.Operation operation, double sign) {
+            this.output = output;
+            this.attribute = attribute;
+            this.operation = operation;
+            this.sign = sign;
+        }
+
+        public BonusOutput output() {
+            return output;
+        }
+
+        public Attribute attribute() {
+            return attribute;
+        }
+
+        public AttributeModifier.Operation operation() {
+            return operation;
+        }
+
+        /**
+         * @return El valor del modificador para las bonificaciones dadas.
+         */
+        public double amount(AttributeCalculator.CalculatedBonuses bonuses) {
+            return sign * bonuses.get(output);
+        }
+    }
+
+    private static volatile Binding[] live;
+    private static volatile Attribute[] byOutput;
+
+    private AttributeBindings() {
+    }
+
+    /**
+     * @return Los enlaces cuyo atributo existe, en el orden de {@link BonusOutput}. No debe modificarse.
+     */
+    public static Binding[] live() {
+        Binding[] bindings = live;
+        if (bindings == null) {
+            bindings = resolve();
+        }
+        return bindings;
+    }
+
+    /**
+     * @return El atributo enlazado a la bonificación, o null si no existe en este modpack.
+     */
+    @Nullable
+    public static Attribute attribute(BonusOutput output) {
+        if (byOutput == null) {
+            resolve();
+        }
+        return byOutput[output.ordinal()];
+    }
+
+    private static synchronized Binding[] resolve() {
+        if (live != null) {
+            return live;
+        }
+        List<Binding> bindings = new ArrayList<>(BonusOutput.COUNT);
+        Attribute[] attributes = new Attribute[BonusOutput.COUNT];
+
+        // Vanilla
+        bind(bindings, attributes, BonusOutput.ATTACK_DAMAGE, Attributes.ATTACK_DAMAGE, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.MOVEMENT_SPEED, Attributes.MOVEMENT_SPEED, AttributeModifier.Operation.MULTIPLY_BASE, 1.0);
+        bind(bindings, attributes, BonusOutput.MAX_HEALTH, Attributes.MAX_HEALTH, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.ARMOR, Attributes.ARMOR, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.ATTACK_SPEED, Attributes.ATTACK_SPEED, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.ARMOR_TOUGHNESS, Attributes.ARMOR_TOUGHNESS, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.ATTACK_KNOCKBACK, Attributes.ATTACK_KNOCKBACK, AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.KNOCKBACK_RESISTANCE, Attributes.KNOCKBACK_RESISTANCE, AttributeModifier.Operation.ADDITION, 1.0);
+        // Forge
+        bind(bindings, attributes, BonusOutput.SWIM_SPEED, lookup("forge:swim_speed"), AttributeModifier.Operation.ADDITION, 1.0);
+        // Epic Fight
+        bind(bindings, attributes, BonusOutput.IMPACT, lookup("epicfight:impact"), AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.ARMOR_NEGATION, lookup("epicfight:armor_negation"), AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.STUN_ARMOR, lookup("epicfight:stun_armor"), AttributeModifier.Operation.ADDITION, 1.0);
+        bind(bindings, attributes, BonusOutput.STAMINA, lookup("epicfight:staminar"), AttributeModifier.Operation.ADDITION, 1.0); // nombre original 'staminar'
+        bind(bindings, attributes, BonusOutput.STAMINA_REGEN, lookup("epicfight:stamina_regen"), AttributeModifier.Operation.ADDITION, 1.0);
+        // La reducción de peso es positiva; el modificador la resta del peso base
+        bind(bindings, attributes, BonusOutput.WEIGHT_REDUCTION, lookup("epicfight:weight"), AttributeModifier.Operation.MULTIPLY_BASE, -1.0);
+
+        byOutput = attributes;
+        live = bindings.toArray(new Binding[0]);
+        LOGGER.debug("Enlaces de atributos resueltos: {} de {} presentes.", live.length, BonusOutput.COUNT);
+        return live;
+    }
+
+    @Nullable
+    private static Attribute lookup(String location) {
+        return ForgeRegistries.ATTRIBUTES.getValue(new ResourceLocation(location));
+    }
+
+    private static void bind(List<Binding> bindings, Attribute[] attributes, BonusOutput output, @Nullable Attribute attribute,
+                             AttributeModifier.Operation operation, double sign) {
+        if (attribute == null) {
+            LOGGER.debug("Atributo para {} no presente; se omite.", output.key());
+            return;
+        }
+        attributes[output.ordinal()] = attribute;
+        bindings.add(new Binding(output, attribute, operation, sign));
+    }
+}
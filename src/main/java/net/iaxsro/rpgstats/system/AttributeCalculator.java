@@ -1,38 +1,30 @@
 package net.iaxsro.rpgstats.system;
 
 import net.iaxsro.rpgstats.RpgStatsMod;
-import net.iaxsro.rpgstats.config.ModConfig;
 import net.iaxsro.rpgstats.registry.AttributeRegistry;
 import net.iaxsro.rpgstats.util.AttributeUtil;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
-import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraftforge.common.ForgeConfigSpec;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.util.UUID;
-import java.util.function.Supplier;
 
 public class AttributeCalculator {
 
     private static final Logger LOGGER = RpgStatsMod.LOGGER;
 
-    // Atributos opcionales (EpicFight, Forge) - Obtenidos de forma segura
-    // Es mejor obtenerlos una vez si se usan mucho, o usar Suppliers
-    private static final Supplier<Attribute> EF_IMPACT = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:impact"));
-    private static final Supplier<Attribute> EF_ARMOR_NEGATION = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:armor_negation"));
-    private static final Supplier<Attribute> EF_STUN_ARMOR = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:stun_armor"));
-    private static final Supplier<Attribute> EF_MAX_STAMINA = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:staminar")); // nombre original 'staminar'
-    private static final Supplier<Attribute> EF_STAMINA_REGEN = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:stamina_regen"));
-    private static final Supplier<Attribute> EF_WEIGHT = AttributeUtil.registrySupplier(new ResourceLocation("epicfight:weight"));
-    private static final Supplier<Attribute> FORGE_SWIM_SPEED = AttributeUtil.registrySupplier(new ResourceLocation("forge:swim_speed"));
+    // Diferencia de valor por debajo de la cual un modificador existente se considera igual
+    private static final double MODIFIER_EPSILON = 1e-9;
+
+    // --- Métricas ---
+    private static long updatedModifierCount = 0; // Atributos cuyo modificador se añadió/reemplazó
+    private static long skippedModifierCount = 0; // Atributos que ya tenían el valor correcto
 
 
     /**
      * Calcula las bonificaciones derivadas basadas en los atributos base actuales de la entidad.
+     * El resultado es inmutable y puede compartirse (ver {@link BonusMemoCache}).
      *
      * @param entity La entidad para la cual calcular las bonificaciones.
      * @return Un objeto CalculatedBonuses con todos los valores calculados.
@@ -44,12 +36,15 @@ public class AttributeCalculator {
         double constitutionVal = entity.getAttributeBaseValue(AttributeRegistry.CONSTITUTION.get());
         // Intelligence no parece usarse en los cálculos originales, añadir si es necesario
 
-        return new CalculatedBonuses(strengthVal, dexterityVal, vitalityVal, constitutionVal);
+        // Instancia compartida si otra entidad ya tiene los mismos valores base
+        return BonusMemoCache.get(strengthVal, dexterityVal, vitalityVal, constitutionVal);
     }
 
     /**
      * Aplica las bonificaciones calculadas como modificadores de atributos permanentes a la entidad.
-     * También elimina los modificadores del nivel anterior si se proporciona el UUID.
+     * Solo modifica los atributos cuyo valor cambió; los demás se dejan intactos para no
+     * generar actualizaciones de atributos innecesarias hacia el cliente.
+     * También elimina los modificadores del nivel anterior si se proporciona un UUID distinto.
      *
      * @param entity            La entidad a la que aplicar los modificadores.
      * @param bonuses           Las bonificaciones calculadas.
@@ -60,76 +55,46 @@ public class AttributeCalculator {
     public static void applyAttributeModifiers(LivingEntity entity, CalculatedBonuses bonuses, int levelNumber, UUID levelUUID, @Nullable UUID previousLevelUUID) {
         LOGGER.debug("Aplicando modificadores para nivel {} (UUID: {}) a {}", levelNumber, levelUUID, entity.getName().getString());
 
-        // 1. Eliminar modificadores del nivel anterior
-        if (previousLevelUUID != null) {
-            LOGGER.debug("Eliminando modificadores del nivel anterior (UUID: {})", previousLevelUUID);
-            // Vanilla Attributes
-            AttributeUtil.removePermanentModifier(entity, Attributes.ATTACK_DAMAGE, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.MOVEMENT_SPEED, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.MAX_HEALTH, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.ARMOR, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.ATTACK_SPEED, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.ARMOR_TOUGHNESS, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.ATTACK_KNOCKBACK, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, Attributes.KNOCKBACK_RESISTANCE, previousLevelUUID);
-            // Forge Attributes
-            AttributeUtil.removePermanentModifier(entity, FORGE_SWIM_SPEED, previousLevelUUID);
-            // Epic Fight Attributes (usando Suppliers)
-            AttributeUtil.removePermanentModifier(entity, EF_IMPACT, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, EF_ARMOR_NEGATION, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, EF_STUN_ARMOR, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, EF_MAX_STAMINA, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, EF_STAMINA_REGEN, previousLevelUUID);
-            AttributeUtil.removePermanentModifier(entity, EF_WEIGHT, previousLevelUUID);
+        // Un modificador por atributo presente en el modpack; solo se tocan los que cambiaron
+        // (y se retira el UUID anterior)
+        String modifierName = "Level " + levelNumber + " Bonus"; // Nombre más descriptivo
+        int updated = 0;
+        int unchanged = 0;
+        for (AttributeBindings.Binding binding : AttributeBindings.live()) {
+            AttributeModifier modifier = new AttributeModifier(levelUUID, modifierName, binding.amount(bonuses), binding.operation());
+            AttributeUtil.ModifierSyncResult result = AttributeUtil.syncPermanentModifier(entity, binding.attribute(), modifier, previousLevelUUID, MODIFIER_EPSILON);
+            if (result == AttributeUtil.ModifierSyncResult.UPDATED) updated++;
+            else if (result == AttributeUtil.ModifierSyncResult.UNCHANGED) unchanged++;
         }
+        updatedModifierCount += updated;
+        skippedModifierCount += unchanged;
+
+        LOGGER.debug("Modificadores del nivel {}: {} actualizados, {} sin cambios.", levelNumber, updated, unchanged);
+    }
 
-        // 2. Crear nuevos modificadores
-        String modifierName = "Level " + levelNumber + " Bonus"; // Nombre más descriptivo
 
-        // Creamos los modificadores usando los valores de 'bonuses' y el nuevo levelUUID
-        AttributeModifier attackDamageModifier = new AttributeModifier(levelUUID, modifierName, bonuses.attackDamageAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier movementSpeedModifier = new AttributeModifier(levelUUID, modifierName, bonuses.movementSpeedMultiplier, AttributeModifier.Operation.MULTIPLY_BASE); // Cambiado a Multiplicador
-        AttributeModifier maxHealthModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalMaxHealthAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier armorModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalArmorAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier attackSpeedModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalAttackSpeedAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier armorToughnessModifier = new AttributeModifier(levelUUID, modifierName, bonuses.armorToughnessAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier attackKnockbackModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalAttackKnockbackAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier knockbackResistanceModifier = new AttributeModifier(levelUUID, modifierName, bonuses.knockbackResistanceAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier swimSpeedModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalSwimSpeedAddition, AttributeModifier.Operation.ADDITION);
-        // Epic Fight
-        AttributeModifier impactModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalImpactAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier armorNegationModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalArmorNegationAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier stunArmorModifier = new AttributeModifier(levelUUID, modifierName, bonuses.stunArmorAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier staminaModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalStaminaAddition, AttributeModifier.Operation.ADDITION);
-        AttributeModifier staminaRegenModifier = new AttributeModifier(levelUUID, modifierName, bonuses.totalStaminaRegenAddition, AttributeModifier.Operation.ADDITION);
-        // Weight Reduction: Originalmente era MULTIPLY_TOTAL con valor negativo.
-        // MULTIPLY_TOTAL aplica: Base * (1 + Mod1) * (1 + Mod2) ...
-        // Si queremos reducir un 10% (0.1), el modificador debe ser -0.1
-        // El bonus.totalWeightReduction es positivo, así que lo negamos.
-        AttributeModifier weightReductionModifier = new AttributeModifier(levelUUID, modifierName, -bonuses.totalWeightReduction, AttributeModifier.Operation.MULTIPLY_BASE); // Cambiado a MULTIPLY_BASE para consistencia
-
-        // 3. Aplicar nuevos modificadores
-        LOGGER.debug("Aplicando nuevos modificadores...");
-        // Vanilla Attributes
-        AttributeUtil.addPermanentModifier(entity, Attributes.ATTACK_DAMAGE, attackDamageModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.MOVEMENT_SPEED, movementSpeedModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.MAX_HEALTH, maxHealthModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.ARMOR, armorModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.ATTACK_SPEED, attackSpeedModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.ARMOR_TOUGHNESS, armorToughnessModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.ATTACK_KNOCKBACK, attackKnockbackModifier);
-        AttributeUtil.addPermanentModifier(entity, Attributes.KNOCKBACK_RESISTANCE, knockbackResistanceModifier);
-        // Forge Attributes
-        AttributeUtil.addPermanentModifier(entity, FORGE_SWIM_SPEED, swimSpeedModifier);
-        // Epic Fight Attributes (usando Suppliers)
-        AttributeUtil.addPermanentModifier(entity, EF_IMPACT, impactModifier);
-        AttributeUtil.addPermanentModifier(entity, EF_ARMOR_NEGATION, armorNegationModifier);
-        AttributeUtil.addPermanentModifier(entity, EF_STUN_ARMOR, stunArmorModifier);
-        AttributeUtil.addPermanentModifier(entity, EF_MAX_STAMINA, staminaModifier);
-        AttributeUtil.addPermanentModifier(entity, EF_STAMINA_REGEN, staminaRegenModifier);
-        AttributeUtil.addPermanentModifier(entity, EF_WEIGHT, weightReductionModifier);
-
-        LOGGER.debug("Modificadores aplicados exitosamente para nivel {}.", levelNumber);
+    /**
+     * Elimina de la entidad todos los modificadores de nivel con el UUID indicado.
+     *
+     * @param entity    La entidad de la que quitar los modificadores.
+     * @param levelUUID El UUID de los modificadores a eliminar.
+     */
+    public static void removeAttributeModifiers(LivingEntity entity, UUID levelUUID) {
+        for (AttributeBindings.Binding binding : AttributeBindings.live()) {
+            AttributeUtil.removePermanentModifier(entity, binding.attribute(), levelUUID);
+        }
+        LOGGER.debug("Modificadores de nivel {} eliminados de {}", levelUUID, entity.getName().getString());
+    }
+
+
+    // --- Getters de Métricas ---
+
+    public static long getUpdatedModifierCount() {
+        return updatedModifierCount;
+    }
+
+    public static long getSkippedModifierCount() {
+        return skippedModifierCount;
     }
 
 
@@ -138,8 +103,9 @@ public class AttributeCalculator {
     /**
      * Contiene los valores de las bonificaciones calculadas a partir de los atributos base.
      * Estos valores son los que se usarán para crear los AttributeModifiers.
+     * Es inmutable: la misma instancia se comparte desde {@link BonusMemoCache}.
      */
-    public static class CalculatedBonuses {
+    public static final class CalculatedBonuses {
         // Valores individuales (podrían ser útiles para logs o desglose)
         public final double attackDamageAddition;
         public final double impactAdditionStrength;
@@ -179,8 +145,11 @@ public class AttributeCalculator {
         public final double totalAttackSpeedAddition;
         public final double totalWeightReduction; // Valor como porcentaje (0.0 a 1.0)
 
+        // Todas las bonificaciones totales, indexadas por BonusOutput.ordinal()
+        private final double[] totals = new double[BonusOutput.COUNT];
+
         /**
-         * Constructor que calcula todas las bonificaciones.
+         * Constructor que calcula todas las bonificaciones con la matriz de coeficientes publicada.
          *
          * @param strengthBase     Valor base actual de Fuerza.
          * @param dexterityBase    Valor base actual de Destreza.
@@ -188,66 +157,77 @@ public class AttributeCalculator {
          * @param constitutionBase Valor base actual de Constitución.
          */
         public CalculatedBonuses(double strengthBase, double dexterityBase, double vitalityBase, double constitutionBase) {
+            BonusCoefficients c = BonusCoefficients.current();
 
-            // --- Cálculos basados en Configuración y Atributos Base ---
+            // --- Totales (multiplicación por la matriz y expresiones de la configuración) ---
+            c.multiply(strengthBase, dexterityBase, vitalityBase, constitutionBase, totals);
+            StatFormulas.applyBonusOverrides(strengthBase, dexterityBase, vitalityBase, constitutionBase, totals);
+
+            // --- Contribuciones individuales (desglose según la matriz) ---
+            // Las bonificaciones de un solo atributo se toman del total, que incluye las expresiones
             // Fuerza
-            this.attackDamageAddition = calculateBonus(strengthBase, ModConfig.COMMON.strengthAttackDamageDivider);
-            this.impactAdditionStrength = calculateBonus(strengthBase, ModConfig.COMMON.strengthImpactDivider);
-            this.armorNegationAdditionStrength = calculateBonus(strengthBase, ModConfig.COMMON.strengthArmorNegationDivider);
-            this.swimSpeedAdditionStrength = calculateBonus(strengthBase, ModConfig.COMMON.strengthSwimSpeedDivider);
-            this.attackSpeedAdditionStrength = calculateBonus(strengthBase, ModConfig.COMMON.strengthAttackSpeedDivider);
-            this.attackKnockbackAdditionStrength = calculateBonus(strengthBase, ModConfig.COMMON.strengthAttackKnockbackDivider);
+            this.attackDamageAddition = totals[BonusOutput.ATTACK_DAMAGE.ordinal()];
+            this.impactAdditionStrength = strengthBase * c.coefficient(BonusCoefficients.STRENGTH, BonusOutput.IMPACT);
+            this.armorNegationAdditionStrength = strengthBase * c.coefficient(BonusCoefficients.STRENGTH, BonusOutput.ARMOR_NEGATION);
+            this.swimSpeedAdditionStrength = strengthBase * c.coefficient(BonusCoefficients.STRENGTH, BonusOutput.SWIM_SPEED);
+            this.attackSpeedAdditionStrength = strengthBase * c.coefficient(BonusCoefficients.STRENGTH, BonusOutput.ATTACK_SPEED);
+            this.attackKnockbackAdditionStrength = strengthBase * c.coefficient(BonusCoefficients.STRENGTH, BonusOutput.ATTACK_KNOCKBACK);
 
             // Destreza
-            this.armorNegationAdditionDexterity = calculateBonus(dexterityBase, ModConfig.COMMON.dexterityArmorNegationDivider);
+            this.armorNegationAdditionDexterity = dexterityBase * c.coefficient(BonusCoefficients.DEXTERITY, BonusOutput.ARMOR_NEGATION);
             // Para Velocidad de Movimiento: Multiplicador = Dex / Divider
-            this.movementSpeedMultiplier = calculateBonus(dexterityBase, ModConfig.COMMON.dexterityMovementSpeedDivider);
-            this.staminaAdditionDexterity = calculateBonus(dexterityBase, ModConfig.COMMON.dexterityStaminaDivider);
-            this.staminaRegenAdditionDexterity = calculateBonus(dexterityBase, ModConfig.COMMON.dexterityStaminaRegenDivider);
-            this.swimSpeedAdditionDexterity = calculateBonus(dexterityBase, ModConfig.COMMON.dexteritySwimSpeedDivider);
-            this.attackSpeedAdditionDexterity = calculateBonus(dexterityBase, ModConfig.COMMON.dexterityAttackSpeedDivider);
+            this.movementSpeedMultiplier = totals[BonusOutput.MOVEMENT_SPEED.ordinal()];
+            this.staminaAdditionDexterity = dexterityBase * c.coefficient(BonusCoefficients.DEXTERITY, BonusOutput.STAMINA);
+            this.staminaRegenAdditionDexterity = dexterityBase * c.coefficient(BonusCoefficients.DEXTERITY, BonusOutput.STAMINA_REGEN);
+            this.swimSpeedAdditionDexterity = dexterityBase * c.coefficient(BonusCoefficients.DEXTERITY, BonusOutput.SWIM_SPEED);
+            this.attackSpeedAdditionDexterity = dexterityBase * c.coefficient(BonusCoefficients.DEXTERITY, BonusOutput.ATTACK_SPEED);
 
             // Vitalidad
-            this.maxHealthAdditionVitality = calculateBonus(vitalityBase, ModConfig.COMMON.vitalityMaxHealthDivider);
-            this.staminaRegenAdditionVitality = calculateBonus(vitalityBase, ModConfig.COMMON.vitalityStaminaRegenDivider);
-            this.armorAdditionVitality = calculateBonus(vitalityBase, ModConfig.COMMON.vitalityArmorDivider);
-            this.staminaAdditionVitality = calculateBonus(vitalityBase, ModConfig.COMMON.vitalityStaminaDivider);
-            this.weightReductionVitality = calculateBonus(vitalityBase, ModConfig.COMMON.vitalityWeightReductionDivider);
+            this.maxHealthAdditionVitality = vitalityBase * c.coefficient(BonusCoefficients.VITALITY, BonusOutput.MAX_HEALTH);
+            this.staminaRegenAdditionVitality = vitalityBase * c.coefficient(BonusCoefficients.VITALITY, BonusOutput.STAMINA_REGEN);
+            this.armorAdditionVitality = vitalityBase * c.coefficient(BonusCoefficients.VITALITY, BonusOutput.ARMOR);
+            this.staminaAdditionVitality = vitalityBase * c.coefficient(BonusCoefficients.VITALITY, BonusOutput.STAMINA);
+            this.weightReductionVitality = vitalityBase * c.coefficient(BonusCoefficients.VITALITY, BonusOutput.WEIGHT_REDUCTION);
 
             // Constitución
-            this.maxHealthAdditionConstitution = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionMaxHealthDivider);
-            this.armorAdditionConstitution = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionArmorDivider);
-            this.stunArmorAddition = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionStunArmorDivider);
-            this.impactAdditionConstitution = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionImpactDivider);
-            this.knockbackResistanceAddition = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionKnockbackResistanceDivider);
-            this.weightReductionConstitution = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionWeightReductionDivider);
-            this.attackKnockbackAdditionConstitution = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionAttackKnockbackDivider);
-            this.armorToughnessAddition = calculateBonus(constitutionBase, ModConfig.COMMON.constitutionArmorToughnessDivider);
-
-
-            // --- Cálculo de Totales ---
-            this.totalImpactAddition = this.impactAdditionStrength + this.impactAdditionConstitution;
-            this.totalArmorNegationAddition = this.armorNegationAdditionStrength + this.armorNegationAdditionDexterity;
-            this.totalStaminaAddition = this.staminaAdditionDexterity + this.staminaAdditionVitality;
-            this.totalStaminaRegenAddition = this.staminaRegenAdditionDexterity + this.staminaRegenAdditionVitality;
-            this.totalMaxHealthAddition = this.maxHealthAdditionVitality + this.maxHealthAdditionConstitution;
-            this.totalArmorAddition = this.armorAdditionVitality + this.armorAdditionConstitution;
-            this.totalAttackKnockbackAddition = this.attackKnockbackAdditionStrength + this.attackKnockbackAdditionConstitution;
-            this.totalSwimSpeedAddition = this.swimSpeedAdditionStrength + this.swimSpeedAdditionDexterity;
-            this.totalAttackSpeedAddition = this.attackSpeedAdditionDexterity + this.attackSpeedAdditionStrength;
+            this.maxHealthAdditionConstitution = constitutionBase * c.coefficient(BonusCoefficients.CONSTITUTION, BonusOutput.MAX_HEALTH);
+            this.armorAdditionConstitution = constitutionBase * c.coefficient(BonusCoefficients.CONSTITUTION, BonusOutput.ARMOR);
+            this.stunArmorAddition = totals[BonusOutput.STUN_ARMOR.ordinal()];
+            this.impactAdditionConstitution = constitutionBase * c.coefficient(BonusCoefficients.CONSTITUTION, BonusOutput.IMPACT);
+            this.knockbackResistanceAddition = totals[BonusOutput.KNOCKBACK_RESISTANCE.ordinal()];
+            this.weightReductionConstitution = constitutionBase * c.coefficient(BonusCoefficients.CONSTITUTION, BonusOutput.WEIGHT_REDUCTION);
+            this.attackKnockbackAdditionConstitution = constitutionBase * c.coefficient(BonusCoefficients.CONSTITUTION, BonusOutput.ATTACK_KNOCKBACK);
+            this.armorToughnessAddition = totals[BonusOutput.ARMOR_TOUGHNESS.ordinal()];
+
+            // --- Totales combinados ---
+            this.totalImpactAddition = totals[BonusOutput.IMPACT.ordinal()];
+            this.totalArmorNegationAddition = totals[BonusOutput.ARMOR_NEGATION.ordinal()];
+            this.totalStaminaAddition = totals[BonusOutput.STAMINA.ordinal()];
+            this.totalStaminaRegenAddition = totals[BonusOutput.STAMINA_REGEN.ordinal()];
+            this.totalMaxHealthAddition = totals[BonusOutput.MAX_HEALTH.ordinal()];
+            this.totalArmorAddition = totals[BonusOutput.ARMOR.ordinal()];
+            this.totalAttackKnockbackAddition = totals[BonusOutput.ATTACK_KNOCKBACK.ordinal()];
+            this.totalSwimSpeedAddition = totals[BonusOutput.SWIM_SPEED.ordinal()];
+            this.totalAttackSpeedAddition = totals[BonusOutput.ATTACK_SPEED.ordinal()];
             // Reducción de peso como porcentaje (0 a 1)
-            this.totalWeightReduction = this.weightReductionVitality + this.weightReductionConstitution;
+            this.totalWeightReduction = totals[BonusOutput.WEIGHT_REDUCTION.ordinal()];
 
             LOGGER.trace("Bonificaciones calculadas: MaxHealth={}, Armor={}, Impact={}",
                     this.totalMaxHealthAddition, this.totalArmorAddition, this.totalImpactAddition);
         }
 
         /**
-         * Helper para calcular bonificación asegurando que el divisor no sea cero.
+         * @return El total de una bonificación.
+         */
+        public double get(BonusOutput output) {
+            return totals[output.ordinal()];
+        }
+
+        /**
+         * @return Una copia de todos los totales, indexados por {@link BonusOutput#ordinal()}.
          */
-        private double calculateBonus(double baseValue, ForgeConfigSpec.DoubleValue dividerConfig) {
-            double divider = dividerConfig.get();
-            return (divider > 1e-6) ? (baseValue / divider) : 0.0; // Evita división por cero o valores muy pequeños
+        public double[] totals() {
+            return totals.clone();
         }
     }
 }
\ No newline at end of file
@@ -30,34 +30,67 @@ public final class AttributeFormulas {
             return 0.0;
         }
 
-        // Porcentaje del daño infligido respecto al potencial máximo del objetivo
-        double damagePercentage = Math.max(0, Math.min(1, hitDamage / targetMaxPotential)); // Clamp entre 0 y 1
+        // Expresión de la configuración, si existe (ya compilada)
+        if (StatFormulas.hasStrengthGainFormula()) {
+            return Math.max(0, StatFormulas.strengthGain(hitDamage, currentIterations, targetMaxPotential,
+                    ModConfig.COMMON.pointsMultiplier.get(), ModConfig.COMMON.counterVariation.get(), ModConfig.COMMON.dividerExponent.get()));
+        }
+
+        return calculateGain(hitDamage, currentIterations, targetMaxPotential);
+    }
+
+    /**
+     * Fórmula integrada de ganancia de puntos por un evento de combate (golpe dado, daño recibido
+     * o esquiva), con rendimientos decrecientes según las iteraciones del atributo.
+     * No reserva memoria: se usa en la ruta de cada golpe.
+     *
+     * @param amount       Daño infligido, recibido o esquivado.
+     * @param iterations   Iteraciones acumuladas del atributo que gana los puntos.
+     * @param maxPotential Potencial máximo de referencia (ver {@link #calculateStrengthGainOnHit}).
+     * @return La cantidad de puntos a añadir (nunca negativa).
+     */
+    public static double calculateGain(double amount, double iterations, double maxPotential) {
+        if (maxPotential <= 1e-6) {
+            return 0.0;
+        }
+
+        // Porcentaje del daño respecto al potencial máximo
+        double damagePercentage = damagePercentage(amount, maxPotential);
 
         // Divisor que aumenta con las iteraciones (rendimientos decrecientes)
-        // Usa los valores de la configuración
-        double counterVariation = ModConfig.COMMON.counterVariation.get();
-        double dividerExponent = ModConfig.COMMON.dividerExponent.get();
-        // Asegurar que la base del exponente no sea negativa
-        double dividerBase = 1.0 + (counterVariation * Math.max(0, currentIterations));
-        double pointDivider = Math.pow(dividerBase, Math.max(0.1, dividerExponent)); // Asegurar exponente > 0
+        // Se obtiene de la tabla precalculada con los valores de la configuración
+        double inverseDivider = DiminishingReturnsTable.current().inverseDivider(iterations);
 
         // Multiplicador base de puntos, ajustado por el potencial del objetivo
         // Usa el valor de la configuración
         double pointsMultiplierConfig = ModConfig.COMMON.pointsMultiplier.get();
         // El 0.01 original podría estar destinado a convertir un porcentaje, o ser parte del balance.
-        // Si targetMaxPotential ya incluye un factor grande, este multiplicador debe ser pequeño.
-        double pointBaseMultiplier = targetMaxPotential * pointsMultiplierConfig * 0.01;
+        // Si maxPotential ya incluye un factor grande, este multiplicador debe ser pequeño.
+        double pointBaseMultiplier = maxPotential * pointsMultiplierConfig * 0.01;
 
         // Puntos finales = (MultiplicadorBase / Divisor) * PorcentajeDaño
-        double pointsToAdd = (pointBaseMultiplier / pointDivider) * damagePercentage;
+        double pointsToAdd = (pointBaseMultiplier * inverseDivider) * damagePercentage;
 
         // Asegurar que no se añadan puntos negativos
         pointsToAdd = Math.max(0, pointsToAdd);
 
-        LOGGER.trace("Calculando StrengthGain: Damage={}, Iterations={}, MaxPotential={}, Percentage={}, Divider={}, Multiplier={}, Result={}",
-                hitDamage, currentIterations, targetMaxPotential, damagePercentage, pointDivider, pointBaseMultiplier, pointsToAdd);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Calculando ganancia: Amount={}, Iterations={}, MaxPotential={}, Percentage={}, Divider={}, Multiplier={}, Result={}",
+                    amount, iterations, maxPotential, damagePercentage, 1.0 / inverseDivider, pointBaseMultiplier, pointsToAdd);
+        }
 
         return pointsToAdd;
     }
 
+    /**
+     * @return El daño como fracción del potencial máximo, entre 0 y 1. Es también lo que avanzan
+     * las iteraciones del atributo por cada evento.
+     */
+    public static double damagePercentage(double amount, double maxPotential) {
+        if (maxPotential <= 1e-6) {
+            return 0.0;
+        }
+        return Math.max(0, Math.min(1, amount / maxPotential)); // Clamp entre 0 y 1
+    }
+
 }
\ No newline at end of file
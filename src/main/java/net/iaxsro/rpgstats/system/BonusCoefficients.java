@@ -0,0 +1,123 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.config.ModConfig;
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.slf4j.Logger;
+
+/**
+ * Matriz inmutable de coeficientes (4 atributos base × {@value BonusOutput#COUNT} bonificaciones)
+ * compilada a partir de los divisores de la configuración: coeficiente = 1 / divisor,
+ * o 0 si el atributo no contribuye a esa bonificación.
+ * <p>
+ * Se recompila al cargar o recargar la configuración y se publica mediante una referencia
+ * volátil, de modo que calcular bonificaciones no consulta la configuración.
+ */
+public final class BonusCoefficients {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Filas de la matriz, en el orden de los atributos base (StatType.attributeIndex)
+    public static final int STRENGTH = 0;
+    public static final int DEXTERITY = 1;
+    public static final int VITALITY = 2;
+    public static final int CONSTITUTION = 3;
+    public static final int STAT_COUNT = 4;
+
+    private static volatile BonusCoefficients current;
+
+    // [stat * BonusOutput.COUNT + output]
+    private final double[] matrix;
+
+    private BonusCoefficients(double[] matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * Obtiene la matriz publicada, compilándola si aún no se ha hecho.
+     */
+    public static BonusCoefficients current() {
+        BonusCoefficients coefficients = current;
+        if (coefficients == null) {
+            coefficients = compile();
+        }
+        return coefficients;
+    }
+
+    /**
+     * Compila la matriz desde ModConfig.COMMON y la publica.
+     * Se llama al cargar y al recargar la configuración.
+     */
+    public static BonusCoefficients compile() {
+        ModConfig.Common config = ModConfig.COMMON;
+        double[] matrix = new double[STAT_COUNT * BonusOutput.COUNT];
+
+        // Fuerza
+        put(matrix, STRENGTH, BonusOutput.ATTACK_DAMAGE, config.strengthAttackDamageDivider);
+        put(matrix, STRENGTH, BonusOutput.IMPACT, config.strengthImpactDivider);
+        put(matrix, STRENGTH, BonusOutput.ARMOR_NEGATION, config.strengthArmorNegationDivider);
+        put(matrix, STRENGTH, BonusOutput.SWIM_SPEED, config.strengthSwimSpeedDivider);
+        put(matrix, STRENGTH, BonusOutput.ATTACK_SPEED, config.strengthAttackSpeedDivider);
+        put(matrix, STRENGTH, BonusOutput.ATTACK_KNOCKBACK, config.strengthAttackKnockbackDivider);
+
+        // Destreza (velocidad de movimiento se aplica como multiplicador)
+        put(matrix, DEXTERITY, BonusOutput.ARMOR_NEGATION, config.dexterityArmorNegationDivider);
+        put(matrix, DEXTERITY, BonusOutput.MOVEMENT_SPEED, config.dexterityMovementSpeedDivider);
+        put(matrix, DEXTERITY, BonusOutput.STAMINA, config.dexterityStaminaDivider);
+        put(matrix, DEXTERITY, BonusOutput.STAMINA_REGEN, config.dexterityStaminaRegenDivider);
+        put(matrix, DEXTERITY, BonusOutput.SWIM_SPEED, config.dexteritySwimSpeedDivider);
+        put(matrix, DEXTERITY, BonusOutput.ATTACK_SPEED, config.dexterityAttackSpeedDivider);
+
+        // Vitalidad
+        put(matrix, VITALITY, BonusOutput.MAX_HEALTH, config.vitalityMaxHealthDivider);
+        put(matrix, VITALITY, BonusOutput.STAMINA_REGEN, config.vitalityStaminaRegenDivider);
+        put(matrix, VITALITY, BonusOutput.ARMOR, config.vitalityArmorDivider);
+        put(matrix, VITALITY, BonusOutput.STAMINA, config.vitalityStaminaDivider);
+        put(matrix, VITALITY, BonusOutput.WEIGHT_REDUCTION, config.vitalityWeightReductionDivider);
+
+        // Constitución
+        put(matrix, CONSTITUTION, BonusOutput.MAX_HEALTH, config.constitutionMaxHealthDivider);
+        put(matrix, CONSTITUTION, BonusOutput.ARMOR, config.constitutionArmorDivider);
+        put(matrix, CONSTITUTION, BonusOutput.STUN_ARMOR, config.constitutionStunArmorDivider);
+        put(matrix, CONSTITUTION, BonusOutput.IMPACT, config.constitutionImpactDivider);
+        put(matrix, CONSTITUTION, BonusOutput.KNOCKBACK_RESISTANCE, config.constitutionKnockbackResistanceDivider);
+        put(matrix, CONSTITUTION, BonusOutput.WEIGHT_REDUCTION, config.constitutionWeightReductionDivider);
+        put(matrix, CONSTITUTION, BonusOutput.ATTACK_KNOCKBACK, config.constitutionAttackKnockbackDivider);
+        put(matrix, CONSTITUTION, BonusOutput.ARMOR_TOUGHNESS, config.constitutionArmorToughnessDivider);
+
+        BonusCoefficients coefficients = new BonusCoefficients(matrix);
+        current = coefficients;
+        LOGGER.debug("Matriz de coeficientes de bonificación compilada.");
+        return coefficients;
+    }
+
+    private static void put(double[] matrix, int stat, BonusOutput output, ForgeConfigSpec.DoubleValue dividerConfig) {
+        double divider = dividerConfig.get();
+        // Evita división por cero o valores muy pequeños
+        matrix[stat * BonusOutput.COUNT + output.ordinal()] = (divider > 1e-6) ? (1.0 / divider) : 0.0;
+    }
+
+    /**
+     * @return El coeficiente del atributo base {@code stat} para la bonificación indicada.
+     */
+    public double coefficient(int stat, BonusOutput output) {
+        return matrix[stat * BonusOutput.COUNT + output.ordinal()];
+    }
+
+    /**
+     * Calcula todas las bonificaciones: out[o] = Σ base[s] · coef[s][o].
+     *
+     * @param strength     Valor base de Fuerza.
+     * @param dexterity    Valor base de Destreza.
+     * @param vitality     Valor base de Vitalidad.
+     * @param constitution Valor base de Constitución.
+     * @param out          Array de {@link BonusOutput#COUNT} posiciones donde escribir el resultado.
+     */
+    public void multiply(double strength, double dexterity, double vitality, double constitution, double[] out) {
+        final int n = BonusOutput.COUNT;
+        final double[] m = matrix;
+        for (int o = 0; o < n; o++) {
+            out[o] = strength * m[o] + dexterity * m[n + o] + vitality * m[2 * n + o] + constitution * m[3 * n + o];
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché concurrente de {@link AttributeCalculator.CalculatedBonuses} indexada por los cuatro
+ * valores base (STR, DEX, VIT, CON) y la época de configuración.
+ * <p>
+ * Las bonificaciones son inmutables, así que la misma instancia se comparte entre todos los
+ * jugadores con la misma combinación de atributos. La época se incrementa al recargar la
+ * configuración, lo que deja obsoletas las entradas anteriores. Al superar el tamaño máximo
+ * se expulsa una entrada arbitraria.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class BonusMemoCache {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+    private static final int MAX_ENTRIES = 1024;
+
+    private record Key(double strength, double dexterity, double vitality, double constitution, int epoch) {
+    }
+
+    private static final Map<Key, AttributeCalculator.CalculatedBonuses> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger configEpoch = new AtomicInteger();
+
+    // --- Métricas ---
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
+
+    private BonusMemoCache() {
+    }
+
+    /**
+     * Devuelve las bonificaciones para los valores base indicados, calculándolas solo si
+     * no están en caché para la época de configuración actual.
+     */
+    public static AttributeCalculator.CalculatedBonuses get(double strength, double dexterity, double vitality, double constitution) {
+        Key key = new Key(strength, dexterity, vitality, constitution, configEpoch.get());
+        AttributeCalculator.CalculatedBonuses bonuses = CACHE.get(key);
+        if (bonuses != null) {
+            hitCount.incrementAndGet();
+            return bonuses;
+        }
+
+        missCount.incrementAndGet();
+        if (CACHE.size() >= MAX_ENTRIES) {
+            evictOne();
+        }
+        return CACHE.computeIfAbsent(key, k -> new AttributeCalculator.CalculatedBonuses(k.strength(), k.dexterity(), k.vitality(), k.constitution()));
+    }
+
+    private static void evictOne() {
+        Iterator<Key> iterator = CACHE.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Invalida todas las entradas. Se llama al recargar la configuración.
+     */
+    public static void bumpEpoch() {
+        int epoch = configEpoch.incrementAndGet();
+        CACHE.clear();
+        LOGGER.debug("Caché de bonificaciones invalidada (época de configuración {}).", epoch);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        LOGGER.debug("Caché de bonificaciones: {} aciertos, {} fallos ({}% aciertos), {} expulsiones, {} entradas.",
+                hitCount.get(), missCount.get(), String.format("%.1f", getHitRate() * 100.0), evictionCount.get(), CACHE.size());
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    public static long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return La proporción de aciertos (0.0 a 1.0), o 0 si aún no hubo consultas.
+     */
+    public static double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public static int getConfigEpoch() {
+        return configEpoch.get();
+    }
+}
@@ -0,0 +1,42 @@
+package net.iaxsro.rpgstats.system;
+
+/**
+ * Bonificaciones derivadas que producen los atributos base.
+ * El ordinal de cada constante es su columna en {@link BonusCoefficients} y su posición
+ * en el bloque de bonificaciones del historial de niveles, así que el orden no debe cambiar.
+ */
+public enum BonusOutput {
+
+    ATTACK_DAMAGE("AttackDamage"),
+    MOVEMENT_SPEED("MovementSpeedMultiplier"),
+    MAX_HEALTH("MaxHealth"),
+    ARMOR("Armor"),
+    ATTACK_SPEED("AttackSpeed"),
+    ARMOR_TOUGHNESS("ArmorToughness"),
+    ATTACK_KNOCKBACK("AttackKnockback"),
+    KNOCKBACK_RESISTANCE("KnockbackResistance"),
+    SWIM_SPEED("SwimSpeed"),
+    IMPACT("Impact"),
+    ARMOR_NEGATION("ArmorNegation"),
+    STUN_ARMOR("StunArmor"),
+    STAMINA("Stamina"),
+    STAMINA_REGEN("StaminaRegen"),
+    WEIGHT_REDUCTION("WeightReductionMultiplier");
+
+    // Copia cacheada de values() para no clonar el array en cada bucle
+    public static final BonusOutput[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final String key;
+
+    BonusOutput(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return La clave con la que se identifica la bonificación al persistirla.
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,273 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
+import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.registry.AttributeRegistry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recalcula las bonificaciones de todos los jugadores conectados tras recargar la configuración.
+ * <p>
+ * El proceso tiene tres fases:
+ * <ol>
+ *     <li>Hilo del servidor: copia de los atributos base de cada jugador con nivel desde {@link PlayerStatTable}.</li>
+ *     <li>{@link ComputeExecutor}: cálculo en paralelo de las bonificaciones (vía {@link BonusMemoCache}).</li>
+ *     <li>Hilo del servidor (el resultado llega por {@link MainThreadQueue}): aplicación de los
+ *     modificadores por partes, dentro del presupuesto de la cola; lo que no cabe se vuelve a
+ *     encolar y se aplica en el tick siguiente.</li>
+ * </ol>
+ * Si los atributos de un jugador cambiaron entre la copia y la aplicación, o se desconectó,
+ * se recalcula en el momento o se omite. Una recarga durante un recálculo lo repite al terminar.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class BonusRecomputeService {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Atributos base por jugador en la copia (STR, DEX, VIT, CON)
+    private static final int BASE_STRIDE = BonusCoefficients.STAT_COUNT;
+
+    /**
+     * Copia de los jugadores a recalcular y, una vez calculados, sus bonificaciones.
+     */
+    private static final class Job {
+        final int epoch;
+        final UUID[] players;
+        final double[] bases;
+        final AttributeCalculator.CalculatedBonuses[] results;
+        final long startNanos = System.nanoTime();
+        int next = 0; // Siguiente jugador a aplicar (solo hilo del servidor)
+
+        Job(int epoch, UUID[] players, double[] bases) {
+            this.epoch = epoch;
+            this.players = players;
+            this.bases = bases;
+            this.results = new AttributeCalculator.CalculatedBonuses[players.length];
+        }
+    }
+
+    // Puede activarse desde el hilo que vigila el archivo de configuración
+    private static final AtomicBoolean requested = new AtomicBoolean(false);
+    // Solo se accede desde el hilo del servidor
+    private static CompletableFuture<Job> computing = null;
+    private static Job applying = null;
+
+    // --- Métricas ---
+    private static long jobCount = 0;
+    private static long appliedCount = 0;  // Jugadores a los que se aplicó el resultado
+    private static long refreshedCount = 0; // Jugadores recalculados al aplicar por cambio de atributos
+    private static long skippedCount = 0;  // Jugadores desconectados o sin nivel al aplicar
+    private static long lastComputeNanos = 0;
+    private static long lastTotalNanos = 0;
+    private static int lastApplyTicks = 0;
+
+    private BonusRecomputeService() {
+    }
+
+    /**
+     * Solicita un recálculo de todos los jugadores conectados en el próximo tick del servidor.
+     * Puede llamarse desde cualquier hilo.
+     */
+    public static void requestRecompute() {
+        requested.set(true);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(final TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        if (ServerLifecycleHooks.getCurrentServer() == null) {
+            return;
+        }
+        if (computing == null && applying == null && requested.getAndSet(false)) {
+            CompletableFuture<Job> future = startJob();
+            computing = future;
+            // El resultado vuelve al hilo del servidor por la cola con presupuesto
+            future.whenCompleteAsync((job, error) -> onComputed(future, job, error), MainThreadQueue.executor());
+        }
+    }
+
+    // Entrega del cálculo (hilo del servidor, vía MainThreadQueue)
+    private static void onComputed(CompletableFuture<Job> future, Job job, Throwable error) {
+        if (future != computing) {
+            return; // Cancelado al detener el servidor
+        }
+        computing = null;
+        if (error != null) {
+            LOGGER.error("Error recalculando bonificaciones tras recargar la configuración", error);
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        // Resultado de una configuración ya sustituida: se descarta y se repite
+        if (server != null && job.epoch == BonusMemoCache.getConfigEpoch()) {
+            lastComputeNanos = System.nanoTime() - job.startNanos;
+            applying = job;
+            lastApplyTicks = 0;
+            applyBatch(server, job);
+        } else {
+            requested.set(true);
+        }
+    }
+
+    // Fase 1 (hilo del servidor, recorriendo las columnas de PlayerStatTable) y lanzamiento de la fase 2
+    private static CompletableFuture<Job> startJob() {
+        int highWater = PlayerStatTable.highWater();
+        int[] levels = PlayerStatTable.levelColumn();
+        UUID[] players = new UUID[PlayerStatTable.size()];
+        double[] bases = new double[players.length * BASE_STRIDE];
+        int count = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            ServerPlayer player = PlayerStatTable.player(slot);
+            if (!PlayerStatTable.isOccupied(slot) || player == null || levels[slot] <= 0) {
+                continue; // Sin modificadores de nivel que actualizar
+            }
+            players[count] = player.getUUID();
+            for (int i = 0; i < BASE_STRIDE; i++) {
+                bases[count * BASE_STRIDE + i] = PlayerStatTable.base(i, slot);
+            }
+            count++;
+        }
+
+        Job job = new Job(BonusMemoCache.getConfigEpoch(), Arrays.copyOf(players, count),
+                Arrays.copyOf(bases, count * BASE_STRIDE));
+        jobCount++;
+        LOGGER.debug("Recalculando bonificaciones de {} jugadores tras recargar la configuración.", count);
+
+        // Fase 2: cálculo puro sobre la copia, sin tocar entidades, repartido en una parte por hilo
+        int parts = Math.max(1, Math.min(ComputeExecutor.parallelism(), count));
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[parts];
+        for (int p = 0; p < parts; p++) {
+            int from = (int) ((long) count * p / parts);
+            int to = (int) ((long) count * (p + 1) / parts);
+            futures[p] = CompletableFuture.runAsync(() -> compute(job, from, to), ComputeExecutor.executor());
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> job);
+    }
+
+    private static void compute(Job job, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int base = i * BASE_STRIDE;
+            job.results[i] = BonusMemoCache.get(job.bases[base], job.bases[base + 1], job.bases[base + 2], job.bases[base + 3]);
+        }
+    }
+
+    private static void readBases(ServerPlayer player, double[] out, int offset) {
+        out[offset] = player.getAttributeBaseValue(AttributeRegistry.STRENGTH.get());
+        out[offset + 1] = player.getAttributeBaseValue(AttributeRegistry.DEXTERITY.get());
+        out[offset + 2] = player.getAttributeBaseValue(AttributeRegistry.VITALITY.get());
+        out[offset + 3] = player.getAttributeBaseValue(AttributeRegistry.CONSTITUTION.get());
+    }
+
+    // Fase 3 (tarea de MainThreadQueue): aplica hasta agotar su presupuesto y encola el resto
+    private static void applyBatch(MinecraftServer server, Job job) {
+        if (job != applying) {
+            return; // Cancelado al detener el servidor
+        }
+        if (job.epoch != BonusMemoCache.getConfigEpoch()) {
+            // Otra recarga llegó a mitad: su recálculo (ya solicitado) sustituye a este
+            applying = null;
+            return;
+        }
+        long deadline = MainThreadQueue.deadline();
+        double[] current = new double[BASE_STRIDE];
+        lastApplyTicks++;
+
+        // Al menos un jugador por parte, para avanzar aunque el presupuesto sea mínimo
+        int first = job.next;
+        while (job.next < job.players.length && (job.next == first || System.nanoTime() < deadline)) {
+            int i = job.next++;
+            ServerPlayer player = server.getPlayerList().getPlayer(job.players[i]);
+            if (player == null || player.hasDisconnected()) {
+                skippedCount++;
+                continue;
+            }
+            int level = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).map(IPlayerStats::getLevel).orElse(0);
+            if (level <= 0) {
+                skippedCount++;
+                continue;
+            }
+
+            AttributeCalculator.CalculatedBonuses bonuses = job.results[i];
+            readBases(player, current, 0);
+            if (!Arrays.equals(current, 0, BASE_STRIDE, job.bases, i * BASE_STRIDE, (i + 1) * BASE_STRIDE)) {
+                // Subió de nivel o se revirtió mientras tanto
+                bonuses = AttributeCalculator.calculateBonuses(player);
+                refreshedCount++;
+            }
+            AttributeCalculator.applyAttributeModifiers(player, bonuses, level,
+                    LevelingManager.LEVEL_BONUS_MODIFIER_UUID, LevelingManager.LEVEL_BONUS_MODIFIER_UUID);
+            // La vida máxima puede haber bajado
+            if (player.getHealth() > player.getMaxHealth()) {
+                player.setHealth(player.getMaxHealth());
+            }
+            appliedCount++;
+        }
+
+        if (job.next < job.players.length) {
+            MainThreadQueue.submit(() -> applyBatch(server, job));
+        } else {
+            applying = null;
+            lastTotalNanos = System.nanoTime() - job.startNanos;
+            LOGGER.info("Bonificaciones recalculadas para {} jugadores en {} ms ({} ms de cálculo, {} ticks aplicando).",
+                    job.players.length, lastTotalNanos / 1_000_000, lastComputeNanos / 1_000_000, lastApplyTicks);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        if (computing != null) {
+            computing.cancel(false);
+        }
+        computing = null;
+        applying = null;
+        requested.set(false);
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getJobCount() {
+        return jobCount;
+    }
+
+    public static long getAppliedCount() {
+        return appliedCount;
+    }
+
+    public static long getRefreshedCount() {
+        return refreshedCount;
+    }
+
+    public static long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public static long getLastComputeNanos() {
+        return lastComputeNanos;
+    }
+
+    public static long getLastTotalNanos() {
+        return lastTotalNanos;
+    }
+
+    public static int getLastApplyTicks() {
+        return lastApplyTicks;
+    }
+
+    public static boolean isRunning() {
+        return computing != null || applying != null;
+    }
+}
@@ -0,0 +1,219 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de hilos para los cálculos de estadísticas fuera del hilo del servidor
+ * (recálculo de bonificaciones, subidas de nivel por lotes).
+ * <p>
+ * Se dimensiona según los núcleos disponibles (dejando uno para el servidor), con hilos daemon
+ * con nombre y una cola acotada. Si la cola está llena, la tarea se ejecuta en el hilo que la
+ * envía (contrapresión, nunca se descarta trabajo). Se crea en {@link ServerStartingEvent} y se
+ * vacía y detiene en {@link ServerStoppedEvent}; si se envía una tarea sin pool activo, se crea
+ * uno nuevo, así que sigue funcionando al cargar otro mundo en la misma sesión.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class ComputeExecutor {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+    private static final String THREAD_NAME = "RpgStats-Compute-";
+    private static final int MAX_THREADS = 8;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long STOP_TIMEOUT_MS = 10_000L;
+
+    private static final Executor EXECUTOR = ComputeExecutor::execute;
+
+    @Nullable
+    private static volatile ThreadPoolExecutor pool;
+
+    // --- Métricas ---
+    private static final AtomicLong submittedCount = new AtomicLong();
+    private static final AtomicLong completedCount = new AtomicLong();
+    private static final AtomicLong failedCount = new AtomicLong();
+    private static final AtomicLong callerRunsCount = new AtomicLong(); // Tareas ejecutadas en el hilo que las envió
+    private static final AtomicLong totalWaitNanos = new AtomicLong();  // Tiempo total en cola
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+    private static final AtomicLong totalRunNanos = new AtomicLong();   // Tiempo total de ejecución
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private ComputeExecutor() {
+    }
+
+    /**
+     * @return Un {@link Executor} que envía las tareas al pool activo (p. ej. para {@code CompletableFuture}).
+     */
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * @return Número de hilos del pool, útil para repartir un trabajo en partes.
+     */
+    public static int parallelism() {
+        return threadCount();
+    }
+
+    /**
+     * Envía una tarea al pool, creándolo si no está activo.
+     */
+    public static void execute(Runnable task) {
+        submittedCount.incrementAndGet();
+        ensureStarted().execute(new TimedTask(task));
+        ThreadPoolExecutor current = pool;
+        if (current != null) {
+            maxQueueDepth.accumulateAndGet(current.getQueue().size(), Math::max);
+        }
+    }
+
+    // Envoltorio que mide la espera en cola y la ejecución
+    private static final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long wait = start - submitNanos;
+            totalWaitNanos.addAndGet(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            try {
+                task.run();
+                completedCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+                LOGGER.error("Error en tarea de cálculo: {}", e.getMessage(), e);
+            } finally {
+                totalRunNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    // Cola llena o pool detenido: se ejecuta en el hilo que envía la tarea
+    private static final RejectedExecutionHandler CALLER_RUNS = (task, executor) -> {
+        callerRunsCount.incrementAndGet();
+        task.run();
+    };
+
+    private static int threadCount() {
+        return Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    private static synchronized ThreadPoolExecutor ensureStarted() {
+        ThreadPoolExecutor current = pool;
+        if (current != null && !current.isShutdown()) {
+            return current;
+        }
+        int threads = threadCount();
+        AtomicInteger index = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        current = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), factory, CALLER_RUNS);
+        pool = current;
+        LOGGER.debug("Pool de cálculo iniciado con {} hilos.", threads);
+        return current;
+    }
+
+    /**
+     * Deja de aceptar tareas, espera a que terminen las pendientes y detiene los hilos.
+     */
+    private static synchronized void drainAndStop() {
+        ThreadPoolExecutor current = pool;
+        if (current == null) {
+            return;
+        }
+        pool = null;
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                LOGGER.error("El pool de cálculo no terminó en {} ms; se cancelan {} tareas.",
+                        STOP_TIMEOUT_MS, current.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStarting(final ServerStartingEvent event) {
+        ensureStarted();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        drainAndStop();
+        LOGGER.debug("Cálculo: {} tareas enviadas, {} completadas, {} fallidas, {} en el hilo emisor; espera media {} µs (máx. {} µs), profundidad máxima {}.",
+                submittedCount.get(), completedCount.get(), failedCount.get(), callerRunsCount.get(),
+                TimeUnit.NANOSECONDS.toMicros(getAverageWaitNanos()), TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+                maxQueueDepth.get());
+    }
+
+    // --- Getters de Métricas ---
+
+    public static int getQueueDepth() {
+        ThreadPoolExecutor current = pool;
+        return current != null ? current.getQueue().size() : 0;
+    }
+
+    public static int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public static int getActiveCount() {
+        ThreadPoolExecutor current = pool;
+        return current != null ? current.getActiveCount() : 0;
+    }
+
+    public static long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public static long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public static long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public static long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    public static long getAverageWaitNanos() {
+        long done = completedCount.get() + failedCount.get();
+        return done > 0 ? totalWaitNanos.get() / done : 0;
+    }
+
+    public static long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public static long getAverageRunNanos() {
+        long done = completedCount.get() + failedCount.get();
+        return done > 0 ? totalRunNanos.get() / done : 0;
+    }
+}
@@ -0,0 +1,309 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.config.ModConfig;
+import org.slf4j.Logger;
+
+/**
+ * Tabla precalculada del factor de rendimientos decrecientes {@code 1 / (1 + cv·x)^e}
+ * usado al conceder puntos, para evitar un {@code Math.pow} por golpe.
+ * <p>
+ * Se tabula en la variable {@code t = cv·x} sobre {@code [0, T_MAX]} con paso {@code 1/STEPS_PER_UNIT},
+ * guardando valor y derivada exacta en cada nodo, y se interpola con splines cúbicos de Hermite.
+ * Al construirla se mide el error relativo máximo contra el cálculo exacto; si supera
+ * {@link #MAX_RELATIVE_ERROR} (exponentes muy altos) la tabla se desactiva.
+ * Fuera del dominio tabulado se usa siempre el cálculo exacto.
+ * <p>
+ * También evalúa en O(1) la suma {@code Σ 1/(1 + cv·x)^e} sobre un rango de enteros
+ * ({@link #sum(long, long)}): los primeros {@value #PREFIX_TERMS} términos salen de una tabla de
+ * sumas acumuladas y el resto de la fórmula de Euler–Maclaurin hasta el término de B6, cuyo error
+ * se mide también al construir la tabla; si supera {@link #MAX_SUM_RELATIVE_ERROR}, esa parte se
+ * suma término a término por bloques.
+ * Se reconstruye al cargar o recargar la configuración y se publica mediante una referencia volátil.
+ */
+public final class DiminishingReturnsTable {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    static final double T_MAX = 64.0;
+    static final int STEPS_PER_UNIT = 128;
+    static final int INTERVALS = (int) (T_MAX * STEPS_PER_UNIT);
+    static final double MAX_RELATIVE_ERROR = 1e-6;
+    static final double MAX_SUM_RELATIVE_ERROR = 1e-9;
+
+    // Términos de la tabla de sumas acumuladas y tamaño máximo de rango que se suma término a término
+    static final int PREFIX_TERMS = 1024;
+    static final int DIRECT_SUM_LIMIT = 32;
+    // Términos por bloque de la suma término a término (sin Euler–Maclaurin)
+    static final int SUM_BLOCK = 1024;
+
+    private static volatile DiminishingReturnsTable current;
+
+    private final double counterVariation;
+    private final double exponent;
+    // [2 * nodo] = valor, [2 * nodo + 1] = derivada respecto a t escalada por el paso
+    private final double[] nodes;
+    private final boolean enabled;
+    private final double maxRelativeError;
+    // suffix[n] = Σ_{x=n}^{PREFIX_TERMS-1} f(x), acumulada desde los términos pequeños para que
+    // restar dos entradas no pierda precisión cuando el rango aporta poco frente al total
+    private final double[] suffix;
+    private final double maxSumRelativeError;
+    private final boolean closedFormSum;
+
+    // --- Métricas ---
+    private static long lookupCount = 0;
+    private static long fallbackCount = 0;
+    private static long blockedSumCount = 0;
+
+    private DiminishingReturnsTable(double counterVariation, double exponent) {
+        this.counterVariation = counterVariation;
+        this.exponent = exponent;
+        this.nodes = new double[2 * (INTERVALS + 1)];
+        double h = 1.0 / STEPS_PER_UNIT;
+        for (int i = 0; i <= INTERVALS; i++) {
+            double base = 1.0 + i * h;
+            double value = Math.pow(base, -exponent);
+            nodes[2 * i] = value;
+            nodes[2 * i + 1] = -exponent * value / base * h;
+        }
+        this.maxRelativeError = measureError();
+        this.enabled = maxRelativeError <= MAX_RELATIVE_ERROR;
+
+        this.suffix = new double[PREFIX_TERMS + 1];
+        for (int x = PREFIX_TERMS - 1; x >= 0; x--) {
+            suffix[x] = suffix[x + 1] + exact(counterVariation * x);
+        }
+        this.maxSumRelativeError = measureSumError();
+        this.closedFormSum = maxSumRelativeError <= MAX_SUM_RELATIVE_ERROR;
+    }
+
+    /**
+     * Obtiene la tabla publicada, construyéndola si aún no se ha hecho.
+     */
+    public static DiminishingReturnsTable current() {
+        DiminishingReturnsTable table = current;
+        if (table == null) {
+            table = rebuild();
+        }
+        return table;
+    }
+
+    /**
+     * Construye la tabla desde ModConfig.COMMON y la publica.
+     * Se llama al cargar y al recargar la configuración.
+     */
+    public static DiminishingReturnsTable rebuild() {
+        DiminishingReturnsTable table = build(ModConfig.COMMON.counterVariation.get(), ModConfig.COMMON.dividerExponent.get());
+        current = table;
+        if (table.enabled) {
+            LOGGER.debug("Tabla de rendimientos decrecientes construida (cv={}, exponente={}, error relativo máximo {}, en sumas {}).",
+                    table.counterVariation, table.exponent, table.maxRelativeError, table.maxSumRelativeError);
+        } else {
+            LOGGER.info("Tabla de rendimientos decrecientes desactivada: error relativo {} > {} con exponente {}; se usa el cálculo exacto.",
+                    table.maxRelativeError, MAX_RELATIVE_ERROR, table.exponent);
+        }
+        if (!table.closedFormSum) {
+            LOGGER.info("Suma de rendimientos decrecientes por Euler–Maclaurin desactivada: error relativo {} > {} (cv={}, exponente {}); se suma término a término.",
+                    table.maxSumRelativeError, MAX_SUM_RELATIVE_ERROR, table.counterVariation, table.exponent);
+        }
+        return table;
+    }
+
+    static DiminishingReturnsTable build(double counterVariation, double exponent) {
+        // El exponente se limita igual que en la fórmula original
+        return new DiminishingReturnsTable(Math.max(0, counterVariation), Math.max(0.1, exponent));
+    }
+
+    /**
+     * @param iterations Contador de iteraciones (se toma como 0 si es negativo).
+     * @return {@code 1 / (1 + cv·max(0, iterations))^e}.
+     */
+    public double inverseDivider(double iterations) {
+        lookupCount++;
+        double t = counterVariation * Math.max(0, iterations);
+        if (!enabled || !(t < T_MAX)) {
+            fallbackCount++;
+            return exact(t);
+        }
+        return interpolate(t);
+    }
+
+    /**
+     * @return El divisor {@code (1 + cv·max(0, iterations))^e}.
+     */
+    public double divider(double iterations) {
+        return 1.0 / inverseDivider(iterations);
+    }
+
+    /**
+     * Suma el factor de rendimientos decrecientes sobre las iteraciones enteras
+     * {@code first..last} (ambas incluidas) en tiempo constante.
+     * Las iteraciones negativas se toman como 0.
+     *
+     * @return {@code Σ_{x=first}^{last} 1/(1 + cv·x)^e}, o 0 si el rango está vacío.
+     */
+    public double sum(long first, long last) {
+        return sum(first, last, closedFormSum);
+    }
+
+    private double sum(long first, long last, boolean closedForm) {
+        long a = Math.max(0, first);
+        long b = last;
+        if (b < a) {
+            return 0.0;
+        }
+        if (counterVariation == 0.0) {
+            return (double) (b - a + 1);
+        }
+        if (b - a < DIRECT_SUM_LIMIT) {
+            double total = 0.0;
+            for (long x = a; x <= b; x++) {
+                total += exact(counterVariation * x);
+            }
+            return total;
+        }
+
+        double total = 0.0;
+        if (a < PREFIX_TERMS) {
+            long end = Math.min(b, PREFIX_TERMS - 1);
+            total += suffix[(int) a] - suffix[(int) end + 1];
+            a = end + 1;
+        }
+        if (a <= b) {
+            total += closedForm ? eulerMaclaurin(a, b) : blockedSum(a, b);
+        }
+        return total;
+    }
+
+    // Término a término en bloques acumulados por separado (desde los términos pequeños) para
+    // limitar el error de redondeo; O(b - a), solo cuando Euler–Maclaurin no alcanza la precisión
+    private double blockedSum(long a, long b) {
+        blockedSumCount++;
+        double total = 0.0;
+        for (long start = a; start <= b; start += SUM_BLOCK) {
+            long end = Math.min(b, start + SUM_BLOCK - 1);
+            double block = 0.0;
+            for (long x = end; x >= start; x--) {
+                block += exact(counterVariation * x);
+            }
+            total += block;
+        }
+        return total;
+    }
+
+    /**
+     * Euler–Maclaurin sobre [a, b]: integral + media de extremos + correcciones de B2, B4 y B6.
+     * Con a ≥ {@value #PREFIX_TERMS}, cv/(1 + cv·a) es pequeño y las derivadas decaen rápido.
+     */
+    private double eulerMaclaurin(long a, long b) {
+        double cv = counterVariation;
+        double e = exponent;
+        double ua = 1.0 + cv * a;
+        double ub = 1.0 + cv * b;
+        double fa = Math.pow(ua, -e);
+        double fb = Math.pow(ub, -e);
+
+        // ∫ (1 + cv·x)^-e dx = (u^(1-e) - ua^(1-e)) / (cv·(1-e)), estable cerca de e = 1
+        // log1p en ambos términos: con cv pequeño, log(ub) - log(ua) perdería casi todas las cifras
+        double la = Math.log1p(cv * a);
+        double d = Math.log1p(cv * (b - a) / ua);
+        double g = 1.0 - e;
+        double gd = g * d;
+        double integral = Math.exp(g * la) * (Math.abs(gd) < 1e-12 ? d : Math.expm1(gd) / g) / cv;
+
+        // f^(m)(x) = (-e)(-e-1)...(-e-m+1) · cv^m · u^(-e-m) = c_m · cv^m · f(x) / u^m
+        double c1 = -e;
+        double c3 = c1 * (-e - 1) * (-e - 2);
+        double c5 = c3 * (-e - 3) * (-e - 4);
+        double ra = cv / ua, rb = cv / ub;
+        double d1 = c1 * (rb * fb - ra * fa);
+        double d3 = c3 * (rb * rb * rb * fb - ra * ra * ra * fa);
+        double d5 = c5 * (Math.pow(rb, 5) * fb - Math.pow(ra, 5) * fa);
+
+        return integral + (fa + fb) * 0.5 + d1 / 12.0 - d3 / 720.0 + d5 / 30240.0;
+    }
+
+    // Error relativo de sum() frente a la suma término a término en rangos representativos
+    private double measureSumError() {
+        if (counterVariation == 0.0) {
+            return 0.0;
+        }
+        double worst = 0;
+        long[][] ranges = {{0, 4095}, {PREFIX_TERMS, PREFIX_TERMS + 40}, {PREFIX_TERMS - 10, PREFIX_TERMS + 5000}, {3000, 9000}};
+        for (long[] range : ranges) {
+            double direct = 0.0;
+            for (long x = range[0]; x <= range[1]; x++) {
+                direct += exact(counterVariation * x);
+            }
+            worst = Math.max(worst, Math.abs(sum(range[0], range[1], true) - direct) / direct);
+        }
+        return worst;
+    }
+
+    private double exact(double t) {
+        return Math.pow(1.0 + t, -exponent);
+    }
+
+    // Hermite cúbico en el intervalo [i, i + 1] con s ∈ [0, 1)
+    private double interpolate(double t) {
+        double scaled = t * STEPS_PER_UNIT;
+        int i = (int) scaled;
+        double s = scaled - i;
+        int k = 2 * i;
+        double p0 = nodes[k], m0 = nodes[k + 1], p1 = nodes[k + 2], m1 = nodes[k + 3];
+        double s2 = s * s, s3 = s2 * s;
+        return (2 * s3 - 3 * s2 + 1) * p0 + (s3 - 2 * s2 + s) * m0 + (-2 * s3 + 3 * s2) * p1 + (s3 - s2) * m1;
+    }
+
+    // Error relativo máximo muestreando cada intervalo en varios puntos interiores
+    private double measureError() {
+        double worst = 0;
+        for (int i = 0; i < INTERVALS; i++) {
+            for (double s = 0.125; s < 1.0; s += 0.25) {
+                double t = (i + s) / STEPS_PER_UNIT;
+                double exact = exact(t);
+                worst = Math.max(worst, Math.abs(interpolate(t) - exact) / exact);
+            }
+        }
+        return worst;
+    }
+
+    public double getCounterVariation() {
+        return counterVariation;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getMaxRelativeError() {
+        return maxRelativeError;
+    }
+
+    public double getMaxSumRelativeError() {
+        return maxSumRelativeError;
+    }
+
+    public boolean isClosedFormSum() {
+        return closedFormSum;
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getLookupCount() {
+        return lookupCount;
+    }
+
+    public static long getFallbackCount() {
+        return fallbackCount;
+    }
+
+    public static long getBlockedSumCount() {
+        return blockedSumCount;
+    }
+}
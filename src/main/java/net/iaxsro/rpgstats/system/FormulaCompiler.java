@@ -0,0 +1,335 @@
+package net.iaxsro.rpgstats.system;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compila expresiones aritméticas (ej. {@code str/30 + con^0.5}) a un árbol de {@link MethodHandle}.
+ * <p>
+ * El análisis se hace una sola vez: cada nodo se convierte directamente en un MethodHandle
+ * combinado con los de sus hijos, sin árbol intermedio que interpretar al evaluar.
+ * El handle resultante tiene tipo {@code (double × n) -> double}, con un parámetro por variable
+ * en el orden indicado, y se invoca con {@code invokeExact} sin reservar memoria.
+ * Las subexpresiones constantes se pliegan al compilar.
+ * <p>
+ * Sintaxis: números, variables, {@code + - * / ^} (potencia, asociativa por la derecha),
+ * paréntesis, menos unario y las funciones {@code min, max, pow, sqrt, abs, log, exp, clamp}.
+ */
+public final class FormulaCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodHandle ADD = binary(FormulaCompiler.class, "add");
+    private static final MethodHandle SUBTRACT = binary(FormulaCompiler.class, "subtract");
+    private static final MethodHandle MULTIPLY = binary(FormulaCompiler.class, "multiply");
+    private static final MethodHandle DIVIDE = binary(FormulaCompiler.class, "divide");
+    private static final MethodHandle NEGATE = unary(FormulaCompiler.class, "negate");
+    private static final MethodHandle CLAMP = staticHandle(FormulaCompiler.class, "clamp",
+            MethodType.methodType(double.class, double.class, double.class, double.class));
+
+    // Funciones disponibles: nombre -> handle (aridad según su tipo)
+    private static final String[] FUNCTION_NAMES = {"min", "max", "pow", "sqrt", "abs", "log", "exp", "clamp"};
+    private static final MethodHandle[] FUNCTIONS = {
+            binary(Math.class, "min"),
+            binary(Math.class, "max"),
+            binary(Math.class, "pow"),
+            unary(Math.class, "sqrt"),
+            unary(Math.class, "abs"),
+            unary(Math.class, "log"),
+            unary(Math.class, "exp"),
+            CLAMP
+    };
+
+    private FormulaCompiler() {
+    }
+
+    /**
+     * Compila una expresión.
+     *
+     * @param expression La expresión a compilar.
+     * @param variables  Nombres de las variables; su orden define el de los parámetros del handle.
+     * @return Un MethodHandle de tipo {@code (double × variables.length) -> double}.
+     * @throws IllegalArgumentException Si la expresión no es válida.
+     */
+    public static MethodHandle compile(String expression, String... variables) {
+        Parser parser = new Parser(expression, variables);
+        Node node = parser.parseExpression();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw parser.error("Símbolo inesperado '" + expression.charAt(parser.position) + "'");
+        }
+        return node.handle();
+    }
+
+    // --- Operaciones básicas (destino de los MethodHandles) ---
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b) {
+        return a / b;
+    }
+
+    private static double negate(double a) {
+        return -a;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static MethodHandle staticHandle(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(owner, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("No se pudo resolver " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle unary(Class<?> owner, String name) {
+        return staticHandle(owner, name, MethodType.methodType(double.class, double.class));
+    }
+
+    private static MethodHandle binary(Class<?> owner, String name) {
+        return staticHandle(owner, name, MethodType.methodType(double.class, double.class, double.class));
+    }
+
+    // --- Nodos (solo durante la compilación) ---
+
+    /**
+     * Resultado parcial: el handle de la subexpresión y, si es constante, su valor.
+     */
+    private record Node(MethodHandle handle, boolean constant, double value) {
+    }
+
+    private static final class Parser {
+
+        private final String source;
+        private final String[] variables;
+        private final Class<?>[] parameterTypes;
+        private final MethodType type;
+        private int position;
+
+        Parser(String source, String[] variables) {
+            this.source = source;
+            this.variables = variables;
+            this.parameterTypes = new Class<?>[variables.length];
+            Arrays.fill(parameterTypes, double.class);
+            this.type = MethodType.methodType(double.class, parameterTypes);
+        }
+
+        // expression := term (('+' | '-') term)*
+        Node parseExpression() {
+            Node node = parseTerm();
+            while (true) {
+                if (accept('+')) node = apply(ADD, node, parseTerm());
+                else if (accept('-')) node = apply(SUBTRACT, node, parseTerm());
+                else return node;
+            }
+        }
+
+        // term := unary (('*' | '/') unary)*
+        private Node parseTerm() {
+            Node node = parseUnary();
+            while (true) {
+                if (accept('*')) node = apply(MULTIPLY, node, parseUnary());
+                else if (accept('/')) node = apply(DIVIDE, node, parseUnary());
+                else return node;
+            }
+        }
+
+        // unary := '-' unary | power
+        private Node parseUnary() {
+            if (accept('-')) {
+                return apply(NEGATE, parseUnary());
+            }
+            return parsePower();
+        }
+
+        // power := primary ('^' unary)?
+        private Node parsePower() {
+            Node base = parsePrimary();
+            if (accept('^')) {
+                return apply(FUNCTIONS[2], base, parseUnary());
+            }
+            return base;
+        }
+
+        // primary := number | variable | function '(' args ')' | '(' expression ')'
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (accept('(')) {
+                Node node = parseExpression();
+                expect(')');
+                return node;
+            }
+            if (position >= source.length()) {
+                throw error("Fin inesperado de la expresión");
+            }
+            char c = source.charAt(position);
+            if (Character.isDigit(c) || c == '.') {
+                return constant(parseNumber());
+            }
+            if (Character.isLetter(c) || c == '_') {
+                String name = parseIdentifier();
+                if (accept('(')) {
+                    return parseFunction(name);
+                }
+                for (int i = 0; i < variables.length; i++) {
+                    if (variables[i].equals(name)) {
+                        return variable(i);
+                    }
+                }
+                throw error("Variable desconocida '" + name + "' (disponibles: " + String.join(", ", variables) + ")");
+            }
+            throw error("Símbolo inesperado '" + c + "'");
+        }
+
+        private Node parseFunction(String name) {
+            String key = name.toLowerCase(Locale.ROOT);
+            for (int f = 0; f < FUNCTION_NAMES.length; f++) {
+                if (!FUNCTION_NAMES[f].equals(key)) {
+                    continue;
+                }
+                MethodHandle function = FUNCTIONS[f];
+                int arity = function.type().parameterCount();
+                List<Node> arguments = new ArrayList<>(arity);
+                if (!accept(')')) {
+                    do {
+                        arguments.add(parseExpression());
+                    } while (accept(','));
+                    expect(')');
+                }
+                if (arguments.size() != arity) {
+                    throw error("La función '" + key + "' espera " + arity + " argumentos, recibió " + arguments.size());
+                }
+                return apply(function, arguments.toArray(new Node[0]));
+            }
+            throw error("Función desconocida '" + name + "'");
+        }
+
+        private double parseNumber() {
+            int start = position;
+            while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            // Notación científica opcional (1e-3)
+            if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+                int mark = position++;
+                if (position < source.length() && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+                    position++;
+                }
+                if (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                        position++;
+                    }
+                } else {
+                    position = mark;
+                }
+            }
+            try {
+                return Double.parseDouble(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Número inválido");
+            }
+        }
+
+        private String parseIdentifier() {
+            int start = position;
+            while (position < source.length() && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                position++;
+            }
+            return source.substring(start, position);
+        }
+
+        // --- Construcción de handles ---
+
+        private Node constant(double value) {
+            MethodHandle handle = MethodHandles.dropArguments(MethodHandles.constant(double.class, value), 0, parameterTypes);
+            return new Node(handle, true, value);
+        }
+
+        private Node variable(int index) {
+            MethodHandle handle = MethodHandles.identity(double.class);
+            handle = MethodHandles.dropArguments(handle, 0, Arrays.copyOfRange(parameterTypes, 0, index));
+            handle = MethodHandles.dropArguments(handle, index + 1, Arrays.copyOfRange(parameterTypes, index + 1, parameterTypes.length));
+            return new Node(handle, false, 0.0);
+        }
+
+        /**
+         * Aplica una función a los nodos hijos. Si todos son constantes, se evalúa ya;
+         * si no, cada hijo se encadena como argumento y los parámetros repetidos se fusionan.
+         */
+        private Node apply(MethodHandle function, Node... arguments) {
+            boolean allConstant = true;
+            for (Node argument : arguments) {
+                allConstant &= argument.constant();
+            }
+            if (allConstant) {
+                Object[] values = new Object[arguments.length];
+                for (int i = 0; i < arguments.length; i++) {
+                    values[i] = arguments[i].value();
+                }
+                try {
+                    return constant((double) function.invokeWithArguments(values));
+                } catch (Throwable t) {
+                    throw error("No se pudo evaluar una subexpresión constante: " + t.getMessage());
+                }
+            }
+
+            // function(a1..ak) -> function(vars, vars, ..., vars) con k copias de las variables
+            int n = parameterTypes.length;
+            MethodHandle handle = function;
+            for (int i = 0; i < arguments.length; i++) {
+                handle = MethodHandles.collectArguments(handle, i * n, arguments[i].handle());
+            }
+            int[] reorder = new int[arguments.length * n];
+            for (int i = 0; i < reorder.length; i++) {
+                reorder[i] = i % n;
+            }
+            return new Node(MethodHandles.permuteArguments(handle, type, reorder), false, 0.0);
+        }
+
+        // --- Lectura de símbolos ---
+
+        void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean accept(char expected) {
+            skipWhitespace();
+            if (position < source.length() && source.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!accept(expected)) {
+                throw error("Se esperaba '" + expected + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " en la posición " + position + " de \"" + source + "\"");
+        }
+    }
+}
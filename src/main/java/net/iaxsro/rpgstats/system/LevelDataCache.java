@@ -0,0 +1,123 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caché LRU acotada de registros del historial de niveles, indexada por (jugador, nivel).
+ * <p>
+ * Se rellena al guardar y al leer de disco, y se invalida al truncar el historial.
+ * El límite se expresa en bytes aproximados: todos los registros tienen ancho fijo, así que
+ * cada entrada cuenta como {@link #ENTRY_BYTES}. Se vacía al parar el servidor, ya que
+ * el mismo jugador puede tener otro historial en otro mundo.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class LevelDataCache {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Registro en disco + arrays, UUIDs, clave y nodo del mapa (estimación)
+    static final int ENTRY_BYTES = LevelHistoryFile.RECORD_SIZE + 160;
+    private static final long MAX_BYTES = 512L * 1024L;
+    private static final int MAX_ENTRIES = (int) (MAX_BYTES / ENTRY_BYTES);
+
+    private record Key(UUID playerUUID, int level) {
+    }
+
+    private static final Map<Key, LevelHistoryFile.LevelRecord> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, LevelHistoryFile.LevelRecord> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // --- Métricas ---
+    private static long hitCount = 0;
+    private static long missCount = 0;
+    private static long evictionCount = 0;
+
+    private LevelDataCache() {
+    }
+
+    /**
+     * Busca el registro de un nivel en la caché.
+     *
+     * @return El registro o null si no está cacheado.
+     */
+    @Nullable
+    static synchronized LevelHistoryFile.LevelRecord get(UUID playerUUID, int level) {
+        LevelHistoryFile.LevelRecord record = CACHE.get(new Key(playerUUID, level));
+        if (record != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return record;
+    }
+
+    /**
+     * Guarda un registro leído de disco.
+     */
+    static synchronized void put(UUID playerUUID, LevelHistoryFile.LevelRecord record) {
+        CACHE.put(new Key(playerUUID, record.level()), record);
+    }
+
+    /**
+     * Guarda un registro recién escrito. Igual que en el historial, guardar un nivel
+     * descarta los niveles iguales o superiores.
+     */
+    static synchronized void putSaved(UUID playerUUID, LevelHistoryFile.LevelRecord record) {
+        invalidateFrom(playerUUID, record.level());
+        CACHE.put(new Key(playerUUID, record.level()), record);
+    }
+
+    /**
+     * Elimina de la caché los niveles del jugador mayores que {@code level}.
+     */
+    static synchronized void invalidateAbove(UUID playerUUID, int level) {
+        invalidateFrom(playerUUID, level + 1);
+    }
+
+    private static void invalidateFrom(UUID playerUUID, int level) {
+        CACHE.keySet().removeIf(key -> key.level() >= level && key.playerUUID().equals(playerUUID));
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        synchronized (LevelDataCache.class) {
+            LOGGER.debug("Caché de niveles: {} aciertos, {} fallos, {} expulsiones, {} entradas.",
+                    hitCount, missCount, evictionCount, CACHE.size());
+            CACHE.clear();
+        }
+    }
+
+    // --- Getters de Métricas ---
+
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public static synchronized int getSize() {
+        return CACHE.size();
+    }
+}
@@ -0,0 +1,257 @@
+package net.iaxsro.rpgstats.system;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Historial binario de niveles de un jugador: un único archivo append-only con registros
+ * de ancho fijo ordenados por número de nivel.
+ * <p>
+ * Formato: cabecera de {@value #HEADER_SIZE} bytes (magic + versión + tamaño de registro)
+ * seguida de registros de {@link #RECORD_SIZE} bytes:
+ * nivel (int), UUID del nivel (2 longs), {@value #BASE_COUNT} valores base (double)
+ * y un bloque de {@value #BONUS_COUNT} bonificaciones (double).
+ * <p>
+ * Como los niveles se guardan en orden creciente, el registro del nivel N suele estar en
+ * la posición {@code N - primerNivel}; el índice de offsets es implícito y la búsqueda es O(1),
+ * con búsqueda binaria como respaldo si hay huecos. Truncar es un único cambio de longitud.
+ */
+final class LevelHistoryFile {
+
+    static final int MAGIC = 0x52504748; // "RPGH"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 4 + 2 + 2;
+
+    static final int BASE_COUNT = 5;
+    static final int BONUS_COUNT = 15;
+    static final int RECORD_SIZE = 4 + 16 + 8 * BASE_COUNT + 8 * BONUS_COUNT;
+
+    private LevelHistoryFile() {
+    }
+
+    /**
+     * Registro de un nivel tal como se guarda en disco.
+     *
+     * @param level      Número de nivel.
+     * @param levelUUID  UUID asociado al nivel.
+     * @param baseValues Valores base de los atributos (STR, DEX, VIT, CON, INT).
+     * @param bonuses    Bonificaciones totales calculadas en ese nivel.
+     */
+    record LevelRecord(int level, UUID levelUUID, double[] baseValues, double[] bonuses) {
+    }
+
+    /**
+     * Añade un registro al final del historial. Si ya existen registros para ese nivel o
+     * superiores se descartan antes, manteniendo el archivo ordenado.
+     */
+    static void append(Path file, LevelRecord record) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ensureHeader(channel);
+            long index = lowerBound(channel, record.level());
+            channel.truncate(offsetOf(index));
+            channel.position(offsetOf(index));
+            writeFully(channel, encode(record));
+        }
+    }
+
+    /**
+     * Lee el registro de un nivel concreto.
+     *
+     * @return El registro o null si el archivo o el nivel no existen.
+     */
+    @Nullable
+    static LevelRecord read(Path file, int level) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (!hasValidHeader(channel)) {
+                throw new IOException("Cabecera de historial inválida en " + file);
+            }
+            long index = find(channel, level);
+            if (index < 0) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            readFully(channel, buffer, offsetOf(index));
+            buffer.flip();
+            return decode(buffer);
+        }
+    }
+
+    /**
+     * Lee todos los registros del historial en orden (lectura secuencial).
+     *
+     * @return Los registros, o una lista vacía si el archivo no existe.
+     */
+    static List<LevelRecord> readAll(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (!hasValidHeader(channel)) {
+                throw new IOException("Cabecera de historial inválida en " + file);
+            }
+            long count = recordCount(channel);
+            ByteBuffer buffer = ByteBuffer.allocate((int) (count * RECORD_SIZE));
+            readFully(channel, buffer, HEADER_SIZE);
+            buffer.flip();
+            List<LevelRecord> records = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                records.add(decode(buffer));
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Elimina todos los registros con nivel mayor que {@code level}.
+     */
+    static void truncateAbove(Path file, int level) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (!hasValidHeader(channel)) {
+                throw new IOException("Cabecera de historial inválida en " + file);
+            }
+            long index = lowerBound(channel, level + 1);
+            channel.truncate(offsetOf(index));
+        }
+    }
+
+    // --- Codificación ---
+
+    static ByteBuffer encode(LevelRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        encodeInto(buffer, record);
+        buffer.flip();
+        return buffer;
+    }
+
+    static void encodeInto(ByteBuffer buffer, LevelRecord record) {
+        buffer.putInt(record.level());
+        buffer.putLong(record.levelUUID().getMostSignificantBits());
+        buffer.putLong(record.levelUUID().getLeastSignificantBits());
+        for (int i = 0; i < BASE_COUNT; i++) {
+            buffer.putDouble(record.baseValues()[i]);
+        }
+        for (int i = 0; i < BONUS_COUNT; i++) {
+            buffer.putDouble(record.bonuses()[i]);
+        }
+    }
+
+    static LevelRecord decode(ByteBuffer buffer) {
+        int level = buffer.getInt();
+        UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+        double[] baseValues = new double[BASE_COUNT];
+        for (int i = 0; i < BASE_COUNT; i++) {
+            baseValues[i] = buffer.getDouble();
+        }
+        double[] bonuses = new double[BONUS_COUNT];
+        for (int i = 0; i < BONUS_COUNT; i++) {
+            bonuses[i] = buffer.getDouble();
+        }
+        return new LevelRecord(level, uuid, baseValues, bonuses);
+    }
+
+    // --- Índice implícito ---
+
+    private static long offsetOf(long index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static long recordCount(FileChannel channel) throws IOException {
+        return Math.max(0, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private static int levelAt(FileChannel channel, long index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        readFully(channel, buffer, offsetOf(index));
+        return buffer.getInt(0);
+    }
+
+    /**
+     * Devuelve el índice del registro del nivel indicado o -1 si no existe.
+     * Primero prueba la posición directa (niveles contiguos), luego búsqueda binaria.
+     */
+    private static long find(FileChannel channel, int level) throws IOException {
+        long count = recordCount(channel);
+        if (count == 0) {
+            return -1;
+        }
+        long guess = (long) level - levelAt(channel, 0);
+        if (guess >= 0 && guess < count && levelAt(channel, guess) == level) {
+            return guess;
+        }
+        long index = lowerBound(channel, level);
+        return index < count && levelAt(channel, index) == level ? index : -1;
+    }
+
+    /**
+     * Devuelve el índice del primer registro con nivel mayor o igual que {@code level}.
+     */
+    private static long lowerBound(FileChannel channel, int level) throws IOException {
+        long low = 0;
+        long high = recordCount(channel);
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (levelAt(channel, mid) < level) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // --- Cabecera y E/S ---
+
+    private static void ensureHeader(FileChannel channel) throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE);
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+        } else if (!hasValidHeader(channel)) {
+            throw new IOException("Cabecera de historial inválida");
+        }
+    }
+
+    private static boolean hasValidHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        return header.getInt() == MAGIC && header.getShort() == VERSION && header.getShort() == RECORD_SIZE;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Fin inesperado del historial en la posición " + position);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
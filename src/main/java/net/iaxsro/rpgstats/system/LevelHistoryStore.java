@@ -0,0 +1,46 @@
+package net.iaxsro.rpgstats.system;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Backend de almacenamiento del historial de niveles de los jugadores.
+ * Todas las implementaciones mantienen, por jugador, los registros ordenados por nivel:
+ * guardar el nivel N descarta los registros de N o superiores.
+ */
+interface LevelHistoryStore {
+
+    /**
+     * Guarda el registro de un nivel (puede completarse de forma asíncrona).
+     */
+    void save(UUID playerUUID, LevelHistoryFile.LevelRecord record) throws IOException;
+
+    /**
+     * Lee el registro de un nivel, viendo siempre las escrituras previas.
+     *
+     * @return El registro o null si no existe.
+     */
+    @Nullable
+    LevelHistoryFile.LevelRecord read(UUID playerUUID, int level) throws IOException;
+
+    /**
+     * Elimina los registros del jugador con nivel mayor que {@code level}.
+     */
+    void truncateAbove(UUID playerUUID, int level) throws IOException;
+
+    /**
+     * Importa registros de otro formato como una sola escritura: o se persisten todos o ninguno.
+     * Se usa en migraciones; los archivos de origen solo deben borrarse cuando el futuro se completa
+     * sin error.
+     */
+    CompletableFuture<Void> importRecords(UUID playerUUID, List<LevelHistoryFile.LevelRecord> records);
+
+    /**
+     * Libera los recursos del backend al parar el servidor.
+     */
+    void close();
+}
@@ -0,0 +1,451 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
+import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
+import net.iaxsro.rpgstats.registry.AttributeRegistry;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Subida de nivel por etapas:
+ * <ol>
+ *     <li>Validación y copia (hilo del servidor): jugador conectado, capacidad presente, vector de
+ *     estadísticas y atributos base.</li>
+ *     <li>Cálculo ({@link ComputeExecutor}): nuevos atributos base y bonificaciones, sin tocar entidades.</li>
+ *     <li>Aplicación (hilo del servidor, cuando {@link MainThreadQueue} entrega el cálculo): atributos
+ *     base, reseteo de puntos, nivel, modificadores y salud.</li>
+ *     <li>Persistencia: registro del nivel en el historial (la escritura a disco es asíncrona).</li>
+ *     <li>Sincronización: se marca al jugador en {@link PlayerStatsSyncScheduler}, que envía un
+ *     único paquete al final del tick.</li>
+ * </ol>
+ * Un jugador suelto se procesa en el momento ({@link #processNow}). Los lotes de varios jugadores
+ * ({@link #submit}) se validan y aplican por trozos como tareas de {@link MainThreadQueue}, dentro
+ * de su presupuesto por tick, de modo que subir de nivel a cientos de jugadores no bloquea el servidor.
+ * Si el estado de un jugador cambió entre la copia y la aplicación (ganó puntos, otra subida de
+ * nivel, recarga de la configuración), se vuelve a copiar y calcular en el momento.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class LevelUpPipeline {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Jugadores por trozo enviado a la etapa de cálculo
+    private static final int CHUNK_SIZE = 64;
+
+    // Por debajo de este valor los puntos temporales no cambian el atributo base
+    private static final double MIN_POINTS = 1e-6;
+
+    // Vector a cero usado para resetear puntos e iteraciones de una sola vez
+    private static final double[] EMPTY_STATS = new double[StatType.COUNT];
+
+    /**
+     * Subida de nivel de un jugador: copia de la etapa 1 y resultado de la etapa 2.
+     */
+    private static final class Plan {
+        final UUID playerUUID;
+        final double[] stats = new double[StatType.COUNT];
+        final double[] bases = new double[StatType.ATTRIBUTE_COUNT];
+        final double[] newBases = new double[StatType.ATTRIBUTE_COUNT];
+        int level;
+        int epoch;
+        AttributeCalculator.CalculatedBonuses bonuses;
+
+        Plan(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+    }
+
+    /**
+     * Subidas de nivel pedidas por un mismo comando.
+     */
+    private static final class Batch {
+        @Nullable
+        final CommandSourceStack source;
+        final ArrayDeque<UUID> pending;
+        final int total;
+        int succeeded = 0;
+        int failed = 0;
+
+        Batch(@Nullable CommandSourceStack source, ArrayDeque<UUID> pending) {
+            this.source = source;
+            this.pending = pending;
+            this.total = pending.size();
+        }
+
+        boolean isDone() {
+            return succeeded + failed == total;
+        }
+    }
+
+    /**
+     * Trozo de un lote en cálculo o pendiente de aplicar.
+     */
+    private static final class Chunk {
+        final Batch batch;
+        final Plan[] plans;
+        final CompletableFuture<Void> computed;
+        boolean ready = false; // Cálculo entregado al hilo del servidor por MainThreadQueue
+        int next = 0; // Siguiente plan a aplicar
+
+        Chunk(Batch batch, Plan[] plans) {
+            this.batch = batch;
+            this.plans = plans;
+            this.computed = CompletableFuture.runAsync(() -> {
+                for (Plan plan : plans) {
+                    compute(plan);
+                }
+            }, ComputeExecutor.executor());
+            this.computed.whenCompleteAsync((ignored, error) -> {
+                ready = true;
+                schedule(); // Reanuda la aplicación si estaba esperando a este trozo
+            }, MainThreadQueue.executor());
+        }
+    }
+
+    // Solo se accede desde el hilo del servidor
+    private static final ArrayDeque<Batch> BATCHES = new ArrayDeque<>();
+    private static final ArrayDeque<Chunk> CHUNKS = new ArrayDeque<>();
+    private static boolean scheduled = false; // Hay una tarea de process() en MainThreadQueue
+
+    // --- Métricas ---
+    private static long levelUpCount = 0;
+    private static long refreshedCount = 0; // Planes recalculados al aplicar por cambios en el jugador
+    private static long failedCount = 0;
+    private static long batchCount = 0;
+    private static long lastBatchNanos = 0;
+    private static int lastBatchTicks = 0;  // Ticks del servidor entre el envío y el final del último lote
+    private static long batchStartNanos = 0;
+    private static int batchStartTick = 0;
+
+    private LevelUpPipeline() {
+    }
+
+    /**
+     * Sube de nivel a un jugador en el momento, recorriendo todas las etapas en el hilo actual.
+     *
+     * @return true si la subida se aplicó.
+     */
+    public static boolean processNow(ServerPlayer player) {
+        Plan plan = snapshot(player);
+        if (plan == null) {
+            return false;
+        }
+        compute(plan);
+        return apply(player, plan);
+    }
+
+    /**
+     * Encola la subida de nivel de varios jugadores; se procesan por trozos en los próximos ticks.
+     * Al terminar se informa del resultado a {@code source}, si se indica.
+     *
+     * @return Número de jugadores encolados.
+     */
+    public static int submit(Collection<ServerPlayer> targets, @Nullable CommandSourceStack source) {
+        ArrayDeque<UUID> pending = new ArrayDeque<>(targets.size());
+        for (ServerPlayer target : targets) {
+            if (target != null) {
+                pending.add(target.getUUID());
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        if (BATCHES.isEmpty() && CHUNKS.isEmpty()) {
+            batchStartNanos = System.nanoTime();
+            MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            batchStartTick = server != null ? server.getTickCount() : 0;
+        }
+        BATCHES.add(new Batch(source, pending));
+        batchCount++;
+        schedule();
+        LOGGER.info("Subida de nivel encolada para {} jugadores.", pending.size());
+        return pending.size();
+    }
+
+    private static void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            MainThreadQueue.submit(LevelUpPipeline::process);
+        }
+    }
+
+    // Tarea de MainThreadQueue: aplica y valida hasta agotar su presupuesto. Se vuelve a encolar si
+    // se quedó sin tiempo; si solo espera a un cálculo, la reanuda el propio trozo al terminar.
+    private static void process() {
+        scheduled = false;
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null || (BATCHES.isEmpty() && CHUNKS.isEmpty())) {
+            return;
+        }
+        long deadline = MainThreadQueue.deadline();
+        applyChunks(server, deadline, false);
+        snapshotChunks(server, deadline);
+
+        if (BATCHES.isEmpty() && CHUNKS.isEmpty()) {
+            lastBatchNanos = System.nanoTime() - batchStartNanos;
+            lastBatchTicks = server.getTickCount() - batchStartTick;
+        } else if (!BATCHES.isEmpty() || CHUNKS.peek().ready) {
+            schedule();
+        }
+    }
+
+    // Prioridad alta: termina los lotes antes de que PersistenceWriter vacíe su cola
+    @SubscribeEvent(priority = EventPriority.HIGH)
+    public static void onServerStopping(final ServerStoppingEvent event) {
+        if (BATCHES.isEmpty() && CHUNKS.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Completando subidas de nivel pendientes antes de detener el servidor...");
+        MinecraftServer server = event.getServer();
+        while (!BATCHES.isEmpty() || !CHUNKS.isEmpty()) {
+            snapshotChunks(server, Long.MAX_VALUE);
+            applyChunks(server, Long.MAX_VALUE, true);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        for (Chunk chunk : CHUNKS) {
+            chunk.computed.cancel(false);
+        }
+        CHUNKS.clear();
+        BATCHES.clear();
+        scheduled = false;
+    }
+
+    // Etapa 1 por trozos: valida y copia jugadores pendientes y lanza su cálculo
+    private static void snapshotChunks(MinecraftServer server, long deadline) {
+        while (!BATCHES.isEmpty() && System.nanoTime() < deadline) {
+            Batch batch = BATCHES.peek();
+            Plan[] plans = new Plan[Math.min(CHUNK_SIZE, batch.pending.size())];
+            int count = 0;
+            while (count < plans.length && System.nanoTime() < deadline) {
+                UUID playerUUID = batch.pending.poll();
+                ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
+                Plan plan = player != null ? snapshot(player) : null;
+                if (plan == null) {
+                    fail(batch, playerUUID);
+                } else {
+                    plans[count++] = plan;
+                }
+            }
+            if (count > 0) {
+                CHUNKS.add(new Chunk(batch, Arrays.copyOf(plans, count)));
+            }
+            if (batch.pending.isEmpty()) {
+                BATCHES.poll();
+                if (batch.isDone()) {
+                    report(batch); // Todos fallaron en la validación
+                }
+            }
+        }
+    }
+
+    // Etapas 3 a 5 por trozos, en orden: un trozo aún en cálculo detiene la aplicación
+    private static void applyChunks(MinecraftServer server, long deadline, boolean wait) {
+        while (!CHUNKS.isEmpty() && System.nanoTime() < deadline) {
+            Chunk chunk = CHUNKS.peek();
+            if (!chunk.ready && !wait) {
+                return;
+            }
+            try {
+                chunk.computed.join();
+            } catch (RuntimeException e) {
+                // Los planes sin calcular se calculan al aplicar
+                LOGGER.error("Error calculando subidas de nivel; se recalculan al aplicar", e);
+            }
+            while (chunk.next < chunk.plans.length && System.nanoTime() < deadline) {
+                Plan plan = chunk.plans[chunk.next++];
+                ServerPlayer player = server.getPlayerList().getPlayer(plan.playerUUID);
+                boolean applied = false;
+                try {
+                    applied = player != null && !player.hasDisconnected() && apply(player, plan);
+                } catch (Exception e) {
+                    LOGGER.error("Error al intentar subir de nivel a {}: {}", plan.playerUUID, e.getMessage(), e);
+                }
+                if (applied) {
+                    chunk.batch.succeeded++;
+                } else {
+                    fail(chunk.batch, plan.playerUUID);
+                }
+            }
+            if (chunk.next < chunk.plans.length) {
+                return; // Sin presupuesto; se sigue en el próximo tick
+            }
+            CHUNKS.poll();
+            if (chunk.batch.isDone()) {
+                report(chunk.batch);
+            }
+        }
+    }
+
+    private static void fail(Batch batch, UUID playerUUID) {
+        batch.failed++;
+        failedCount++;
+        LOGGER.warn("No se pudo subir de nivel al jugador {}: desconectado o sin capacidad PlayerStats.", playerUUID);
+    }
+
+    private static void report(Batch batch) {
+        LOGGER.info("Subida de nivel por lotes completada: {} de {} jugadores.", batch.succeeded, batch.total);
+        if (batch.source == null) {
+            return;
+        }
+        int count = batch.succeeded;
+        if (count > 0) {
+            batch.source.sendSuccess(() -> Component.translatable("command.rpgstats.levelup.success", count), true);
+        } else {
+            batch.source.sendFailure(Component.translatable("command.rpgstats.levelup.failure"));
+        }
+    }
+
+    // --- Etapas ---
+
+    // Etapa 1 (hilo del servidor): null si el jugador no tiene la capacidad
+    @Nullable
+    private static Plan snapshot(ServerPlayer player) {
+        IPlayerStats stats = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).orElse(null);
+        if (stats == null) {
+            LOGGER.error("¡No se pudo obtener la capacidad PlayerStats para {} durante la subida de nivel!", player.getName().getString());
+            return null;
+        }
+        Plan plan = new Plan(player.getUUID());
+        read(player, stats, plan);
+        return plan;
+    }
+
+    private static void read(ServerPlayer player, IPlayerStats stats, Plan plan) {
+        plan.level = stats.getLevel();
+        stats.copyInto(plan.stats);
+        for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+            plan.bases[i] = player.getAttributeBaseValue(AttributeRegistry.byStatIndex(i));
+        }
+        plan.bonuses = null;
+    }
+
+    // Etapa 2 (cualquier hilo): cálculo puro sobre la copia
+    private static void compute(Plan plan) {
+        plan.epoch = BonusMemoCache.getConfigEpoch();
+        for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+            double points = plan.stats[StatType.points(i).ordinal()];
+            plan.newBases[i] = points > MIN_POINTS ? plan.bases[i] + points : plan.bases[i];
+        }
+        // Atributos que usan las bonificaciones: STR, DEX, VIT, CON
+        plan.bonuses = BonusMemoCache.get(plan.newBases[0], plan.newBases[1], plan.newBases[2], plan.newBases[3]);
+    }
+
+    // Etapas 3 a 5 (hilo del servidor)
+    private static boolean apply(ServerPlayer player, Plan plan) {
+        IPlayerStats stats = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).orElse(null);
+        if (stats == null) {
+            return false;
+        }
+        if (plan.bonuses == null || isStale(player, stats, plan)) {
+            // Cambió desde la copia (o no llegó a calcularse): se rehace en el momento
+            read(player, stats, plan);
+            compute(plan);
+            refreshedCount++;
+        }
+        int newLevel = plan.level + 1;
+        LOGGER.debug("Subida de nivel de {}: {} -> {}", player.getName().getString(), plan.level, newLevel);
+
+        // 3. Aplicación: atributos base, reseteo de puntos e iteraciones, nivel, modificadores y salud
+        for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+            if (plan.newBases[i] != plan.bases[i]) {
+                AttributeInstance instance = player.getAttribute(AttributeRegistry.byStatIndex(i));
+                if (instance != null) {
+                    instance.setBaseValue(plan.newBases[i]);
+                }
+            }
+        }
+        stats.copyFrom(EMPTY_STATS);
+        stats.setLevel(newLevel);
+        stats.setCurrentLevelUUID(LevelingManager.LEVEL_BONUS_MODIFIER_UUID);
+        AttributeCalculator.applyAttributeModifiers(player, plan.bonuses, newLevel,
+                LevelingManager.LEVEL_BONUS_MODIFIER_UUID, LevelingManager.LEVEL_BONUS_MODIFIER_UUID);
+        player.setHealth(player.getMaxHealth());
+
+        // 4. Persistencia del nivel alcanzado (para poder revertir a él)
+        PersistenceService.saveLevelData(player, newLevel, LevelingManager.LEVEL_BONUS_MODIFIER_UUID, plan.bonuses);
+
+        // 5. Sincronización (un único paquete al final del tick)
+        PlayerStatsSyncScheduler.markDirty(player);
+
+        levelUpCount++;
+        LOGGER.info("Subida de nivel completada para {} (nivel {}).", player.getName().getString(), newLevel);
+        return true;
+    }
+
+    private static boolean isStale(ServerPlayer player, IPlayerStats stats, Plan plan) {
+        if (plan.epoch != BonusMemoCache.getConfigEpoch() || stats.getLevel() != plan.level) {
+            return true;
+        }
+        for (int i = 0; i < StatType.COUNT; i++) {
+            if (stats.get(StatType.VALUES[i]) != plan.stats[i]) {
+                return true;
+            }
+        }
+        for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+            if (player.getAttributeBaseValue(AttributeRegistry.byStatIndex(i)) != plan.bases[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getLevelUpCount() {
+        return levelUpCount;
+    }
+
+    public static long getRefreshedCount() {
+        return refreshedCount;
+    }
+
+    public static long getFailedCount() {
+        return failedCount;
+    }
+
+    public static long getBatchCount() {
+        return batchCount;
+    }
+
+    public static long getLastBatchNanos() {
+        return lastBatchNanos;
+    }
+
+    public static int getLastBatchTicks() {
+        return lastBatchTicks;
+    }
+
+    public static int getPendingCount() {
+        int pending = 0;
+        for (Batch batch : BATCHES) {
+            pending += batch.pending.size();
+        }
+        for (Chunk chunk : CHUNKS) {
+            pending += chunk.plans.length - chunk.next;
+        }
+        return pending;
+    }
+}
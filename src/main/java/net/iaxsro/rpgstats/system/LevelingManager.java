@@ -3,16 +3,13 @@ package net.iaxsro.rpgstats.system;
 import net.iaxsro.rpgstats.RpgStatsMod;
 import net.iaxsro.rpgstats.capabilities.IPlayerStats;
 import net.iaxsro.rpgstats.capabilities.PlayerStats;
-import net.iaxsro.rpgstats.network.ClientboundSyncPlayerStatsPacket;
-import net.iaxsro.rpgstats.network.PacketHandler;
-import net.iaxsro.rpgstats.registry.AttributeRegistry;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler;
 import net.iaxsro.rpgstats.system.PersistenceService;
-import net.iaxsro.rpgstats.util.AttributeUtil;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraftforge.common.util.LazyOptional;
@@ -33,73 +30,18 @@ public class LevelingManager {
      */
     public static final UUID LEVEL_BONUS_MODIFIER_UUID = UUID.fromString("ec8b45a7-1cdd-45f3-9ad4-6e7f4a770e4f");
 
+    // Vector a cero usado para resetear puntos e iteraciones de una sola vez
+    private static final double[] EMPTY_STATS = new double[StatType.COUNT];
+
     /**
-     * Procesa la subida de nivel para un jugador.
+     * Procesa la subida de nivel para un jugador en el momento.
+     * Para varios jugadores a la vez usar {@link LevelUpPipeline#submit}, que reparte el trabajo entre ticks.
+     *
+     * @return true si la subida se aplicó.
      */
-    public static void processLevelUp(ServerPlayer player) {
+    public static boolean processLevelUp(ServerPlayer player) {
         LOGGER.info("Procesando subida de nivel para {}", player.getName().getString());
-
-        LazyOptional<IPlayerStats> statsOptional = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY);
-
-        if (statsOptional.isPresent()) {
-            statsOptional.ifPresent(stats -> {
-                // --- Toda la lógica de level up va aquí dentro ---
-                int currentLevel = stats.getLevel(); // Ahora es int
-                int newLevelNumber = currentLevel + 1;
-
-                LOGGER.debug("Nivel actual: {}", currentLevel);
-                LOGGER.debug("Nuevo nivel: {}", newLevelNumber);
-
-                // 2. Actualizar Atributos Base
-                double strPoints = stats.getStrengthPoints();
-                double dexPoints = stats.getDexterityPoints();
-                double vitPoints = stats.getVitalityPoints();
-                double conPoints = stats.getConstitutionPoints();
-                double intPoints = stats.getIntelligencePoints();
-
-                if (strPoints > 0) updateBaseAttribute(player, AttributeRegistry.STRENGTH.get(), strPoints);
-                if (dexPoints > 0) updateBaseAttribute(player, AttributeRegistry.DEXTERITY.get(), dexPoints);
-                if (vitPoints > 0) updateBaseAttribute(player, AttributeRegistry.VITALITY.get(), vitPoints);
-                if (conPoints > 0) updateBaseAttribute(player, AttributeRegistry.CONSTITUTION.get(), conPoints);
-                if (intPoints > 0) updateBaseAttribute(player, AttributeRegistry.INTELLIGENCE.get(), intPoints);
-
-                // 3. Resetear Puntos Temporales en la Capacidad
-                stats.setStrengthPoints(0);
-                stats.setDexterityPoints(0);
-                stats.setVitalityPoints(0);
-                stats.setConstitutionPoints(0);
-                stats.setIntelligencePoints(0);
-                stats.setStrengthIterations(0);
-                stats.setDexterityIterations(0);
-                stats.setVitalityIterations(0);
-                stats.setConstitutionIterations(0);
-                stats.setIntelligenceIterations(0);
-
-                // 4. Actualizar Nivel en la Capacidad
-                stats.setLevel(newLevelNumber);
-
-                // 5. Recalcular Bonificaciones
-                AttributeCalculator.CalculatedBonuses newBonuses = AttributeCalculator.calculateBonuses(player);
-
-                // 6. Aplicar Modificadores con UUID fijo
-                AttributeCalculator.applyAttributeModifiers(player, newBonuses, newLevelNumber,
-                        LEVEL_BONUS_MODIFIER_UUID, LEVEL_BONUS_MODIFIER_UUID);
-
-                // 7. Sincronizar Capacidad Actualizada al Cliente
-                PacketHandler.sendToPlayer(player, new ClientboundSyncPlayerStatsPacket(stats.writeNBT()));
-                LOGGER.debug("Capacidad PlayerStats sincronizada al cliente.");
-
-                // 8. Restaurar Salud
-                player.setHealth(player.getMaxHealth());
-                LOGGER.debug("Salud restaurada a {}", player.getHealth());
-
-                LOGGER.info("Subida de nivel completada para {}", player.getName().getString());
-                // --- Fin de la lógica de level up ---
-            }); // Fin de statsOptional.ifPresent
-        } else {
-            // Caso raro donde el jugador no tiene la capacidad
-            LOGGER.error("¡No se pudo obtener la capacidad PlayerStats para {} durante la subida de nivel!", player.getName().getString());
-        } // Fin de if (statsOptional.isPresent())
+        return LevelUpPipeline.processNow(player);
     }
 
     /**
@@ -133,24 +75,6 @@ public class LevelingManager {
         } // Fin de if (statsOptional.isPresent())
     }
 
-    /**
-     * Helper para actualizar el valor base de un atributo.
-     */
-    private static void updateBaseAttribute(LivingEntity entity, Attribute attribute, double pointsToAdd) {
-        AttributeInstance instance = entity.getAttribute(attribute);
-        if (instance != null && pointsToAdd > 1e-6) {
-            double currentBase = instance.getBaseValue();
-            double newBase = currentBase + pointsToAdd;
-            instance.setBaseValue(newBase);
-            LOGGER.trace("Atributo base '{}' actualizado para {}: {} -> {}",
-                    AttributeUtil.getAttributeName(attribute), // Usar una forma segura de obtener el nombre/key
-                    entity.getName().getString(), currentBase, newBase);
-        } else if (instance == null) {
-            LOGGER.warn("Intento de actualizar atributo base nulo '{}' para {}", AttributeUtil.getAttributeName(attribute), entity.getName().getString());
-        }
-    }
-
-
     /**
      * Intenta revertir al jugador a un nivel específico.
      * ADVERTENCIA: Operación compleja que depende de datos persistidos precisos.
@@ -226,23 +150,14 @@ public class LevelingManager {
             // 7. Actualizar la Capacidad del Jugador
             stats.setLevel(targetLevel);
             stats.setCurrentLevelUUID(targetLevelData.levelUUID());
-            // Resetear puntos temporales
-            stats.setStrengthPoints(0);
-            stats.setDexterityPoints(0);
-            stats.setVitalityPoints(0);
-            stats.setConstitutionPoints(0);
-            stats.setIntelligencePoints(0);
-            stats.setStrengthIterations(0);
-            stats.setDexterityIterations(0);
-            stats.setVitalityIterations(0);
-            stats.setConstitutionIterations(0);
-            stats.setIntelligenceIterations(0);
+            // Resetear puntos temporales e iteraciones
+            stats.copyFrom(EMPTY_STATS);
 
             // 8. Eliminar Datos Persistentes de niveles superiores
             PersistenceService.deleteLevelDataAbove(player, targetLevel);
 
-            // 9. Sincronizar Capacidad y Restaurar Salud
-            PacketHandler.sendToPlayer(player, new ClientboundSyncPlayerStatsPacket(stats.writeNBT()));
+            // 9. Programar Sincronización y Restaurar Salud
+            PlayerStatsSyncScheduler.markDirty(player);
             player.setHealth(player.getMaxHealth());
 
             LOGGER.info("Jugador {} revertido exitosamente al nivel {}.", player.getName().getString(), targetLevel);
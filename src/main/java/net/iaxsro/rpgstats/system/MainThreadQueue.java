@@ -0,0 +1,204 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.config.ModConfig;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola de tareas que deben ejecutarse en el hilo del servidor, típicamente la entrega del
+ * resultado de un cálculo en segundo plano ({@link ComputeExecutor}).
+ * <p>
+ * Se vacía al final de cada tick del servidor con un presupuesto de tiempo configurable
+ * ({@code mainThreadBudgetNanos}); lo que no cabe se ejecuta en los ticks siguientes, en orden.
+ * Cada tick ejecuta al menos una tarea para que la cola siempre avance. Al detener el servidor
+ * se vacía por completo.
+ * <p>
+ * Es el único presupuesto del hilo del servidor para este trabajo: las tareas largas (aplicar un
+ * recálculo o un lote de subidas de nivel) trabajan por partes hasta {@link #deadline()} y vuelven
+ * a encolar el resto, que continúa en el tick siguiente.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class MainThreadQueue {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    // Límites superiores (exclusivos) de los intervalos de los histogramas; el último intervalo no tiene límite
+    private static final long[] LATENCY_BOUNDS_NANOS = {1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 1_000_000_000L};
+    private static final int[] BACKLOG_BOUNDS = {1, 8, 64, 512, 4096};
+
+    private record Task(Runnable action, long enqueueNanos) {
+    }
+
+    private static final Executor EXECUTOR = MainThreadQueue::submit;
+
+    private static final Queue<Task> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger backlog = new AtomicInteger(); // ConcurrentLinkedQueue.size() es O(n)
+    // Límite del vaciado en curso (solo hilo del servidor)
+    private static long deadline = 0;
+
+    // --- Métricas (solo hilo del servidor, salvo maxBacklog) ---
+    private static final AtomicInteger maxBacklog = new AtomicInteger();
+    private static long executedCount = 0;
+    private static long failedCount = 0;
+    private static long carriedOverTicks = 0; // Ticks que terminaron con tareas pendientes
+    private static final long[] latencyHistogram = new long[LATENCY_BOUNDS_NANOS.length + 1]; // Espera en cola
+    private static final long[] backlogHistogram = new long[BACKLOG_BOUNDS.length + 1];      // Tamaño al empezar cada tick con tareas
+
+    private MainThreadQueue() {
+    }
+
+    /**
+     * Encola una tarea para el hilo del servidor. Puede llamarse desde cualquier hilo.
+     */
+    public static void submit(Runnable action) {
+        QUEUE.add(new Task(action, System.nanoTime()));
+        maxBacklog.accumulateAndGet(backlog.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * @return Un {@link Executor} que encola en el hilo del servidor (p. ej. para {@code whenCompleteAsync}).
+     */
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * @return Momento ({@link System#nanoTime()}) en que se agota el presupuesto del vaciado en curso.
+     * Una tarea que trabaja por partes procesa al menos un elemento, se detiene al llegar a este
+     * límite y encola el resto con {@link #submit}. Solo tiene sentido dentro de una tarea de la cola.
+     */
+    public static long deadline() {
+        return deadline;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(final TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        int pending = backlog.get();
+        if (pending == 0) {
+            return;
+        }
+        backlogHistogram[backlogBucket(pending)]++;
+        drain(System.nanoTime() + ModConfig.COMMON.mainThreadBudgetNanos.get());
+        if (backlog.get() > 0) {
+            carriedOverTicks++;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(final ServerStoppingEvent event) {
+        drain(Long.MAX_VALUE);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        // Lo que llegue ya detenido el servidor no tiene dónde aplicarse
+        int dropped = 0;
+        while (QUEUE.poll() != null) {
+            backlog.decrementAndGet();
+            dropped++;
+        }
+        if (dropped > 0) {
+            LOGGER.debug("Descartadas {} tareas del hilo del servidor tras detenerlo.", dropped);
+        }
+        LOGGER.debug("Cola del hilo del servidor: {} tareas ejecutadas, {} fallidas, máximo pendiente {}, {} ticks con remanente.",
+                executedCount, failedCount, maxBacklog.get(), carriedOverTicks);
+    }
+
+    private static void drain(long limit) {
+        deadline = limit;
+        Task task;
+        // Al menos una tarea por llamada, aunque el presupuesto sea mínimo
+        do {
+            task = QUEUE.poll();
+            if (task == null) {
+                return;
+            }
+            backlog.decrementAndGet();
+            long start = System.nanoTime();
+            latencyHistogram[latencyBucket(start - task.enqueueNanos())]++;
+            try {
+                task.action().run();
+                executedCount++;
+            } catch (RuntimeException e) {
+                failedCount++;
+                LOGGER.error("Error en tarea del hilo del servidor: {}", e.getMessage(), e);
+            }
+        } while (System.nanoTime() < limit);
+    }
+
+    private static int latencyBucket(long latencyNanos) {
+        int i = 0;
+        while (i < LATENCY_BOUNDS_NANOS.length && latencyNanos >= LATENCY_BOUNDS_NANOS[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int backlogBucket(int size) {
+        int i = 0;
+        while (i < BACKLOG_BOUNDS.length && size >= BACKLOG_BOUNDS[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    // --- Getters de Métricas ---
+
+    public static int getBacklog() {
+        return backlog.get();
+    }
+
+    public static int getMaxBacklog() {
+        return maxBacklog.get();
+    }
+
+    public static long getExecutedCount() {
+        return executedCount;
+    }
+
+    public static long getFailedCount() {
+        return failedCount;
+    }
+
+    public static long getCarriedOverTicks() {
+        return carriedOverTicks;
+    }
+
+    /**
+     * @return Copia del histograma de espera en cola; el intervalo {@code i} cuenta las tareas con
+     * espera menor que {@link #getLatencyBoundsNanos()}{@code [i]} (el último, el resto).
+     */
+    public static long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    public static long[] getLatencyBoundsNanos() {
+        return LATENCY_BOUNDS_NANOS.clone();
+    }
+
+    /**
+     * @return Copia del histograma de tareas pendientes al inicio de cada tick con tareas,
+     * con los límites de {@link #getBacklogBounds()}.
+     */
+    public static long[] getBacklogHistogram() {
+        return backlogHistogram.clone();
+    }
+
+    public static int[] getBacklogBounds() {
+        return BACKLOG_BOUNDS.clone();
+    }
+}
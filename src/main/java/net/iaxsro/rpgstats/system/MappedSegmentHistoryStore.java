@@ -0,0 +1,205 @@
+package net.iaxsro.rpgstats.system;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Backend opcional: el historial de todos los jugadores en unos pocos archivos de segmento
+ * grandes, accedidos mediante {@link MappedByteBuffer}.
+ * <p>
+ * Cada segmento tiene una cabecera de {@value #HEADER_SIZE} bytes (magic, versión, tamaño de
+ * slot y número de slots usados) y {@value #SLOTS_PER_SEGMENT} slots de ancho fijo:
+ * estado (vivo/borrado), UUID del jugador y un registro de {@link LevelHistoryFile}.
+ * Los slots solo se añaden; truncar o reescribir un nivel marca los slots antiguos como borrados.
+ * <p>
+ * El índice UUID → (nivel → slot) vive en memoria y se reconstruye al abrir el backend con un
+ * recorrido secuencial de los segmentos. Las escrituras van a la caché de páginas del sistema
+ * y se fuerzan a disco al cerrar. Todas las operaciones están sincronizadas.
+ */
+final class MappedSegmentHistoryStore implements LevelHistoryStore {
+
+    static final String SEGMENT_DIR = "segments";
+    private static final String SEGMENT_FORMAT = "segment-%04d.bin";
+
+    private static final int MAGIC = 0x52505347; // "RPSG"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+
+    private static final byte SLOT_DEAD = 0;
+    private static final byte SLOT_LIVE = 1;
+    private static final int SLOT_SIZE = 1 + 16 + LevelHistoryFile.RECORD_SIZE;
+    private static final int RECORD_OFFSET = 1 + 16;
+    static final int SLOTS_PER_SEGMENT = 16384;
+    private static final long SEGMENT_SIZE = HEADER_SIZE + (long) SLOTS_PER_SEGMENT * SLOT_SIZE;
+
+    private final Path directory;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // UUID del jugador -> (nivel -> slot global)
+    private final Map<UUID, NavigableMap<Integer, Long>> index = new HashMap<>();
+
+    MappedSegmentHistoryStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        for (int i = 0; Files.exists(segmentPath(i)); i++) {
+            segments.add(map(i));
+        }
+        rebuildIndex();
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format(SEGMENT_FORMAT, segment));
+    }
+
+    private MappedByteBuffer map(int segment) throws IOException {
+        Path file = segmentPath(segment);
+        boolean created = !Files.exists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            if (created) {
+                buffer.putInt(0, MAGIC).putShort(4, VERSION).putShort(6, (short) SLOT_SIZE).putInt(COUNT_OFFSET, 0);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION || buffer.getShort(6) != SLOT_SIZE) {
+                throw new IOException("Cabecera de segmento inválida en " + file);
+            }
+            return buffer;
+        }
+    }
+
+    private void rebuildIndex() {
+        index.clear();
+        for (int s = 0; s < segments.size(); s++) {
+            MappedByteBuffer buffer = segments.get(s);
+            int count = buffer.getInt(COUNT_OFFSET);
+            for (int i = 0; i < count; i++) {
+                int position = slotPosition(i);
+                if (buffer.get(position) != SLOT_LIVE) {
+                    continue;
+                }
+                UUID playerUUID = new UUID(buffer.getLong(position + 1), buffer.getLong(position + 9));
+                int level = buffer.getInt(position + RECORD_OFFSET);
+                index.computeIfAbsent(playerUUID, key -> new TreeMap<>()).put(level, (long) s * SLOTS_PER_SEGMENT + i);
+            }
+        }
+    }
+
+    private static int slotPosition(int slotInSegment) {
+        return HEADER_SIZE + slotInSegment * SLOT_SIZE;
+    }
+
+    private MappedByteBuffer segmentOf(long slot) {
+        return segments.get((int) (slot / SLOTS_PER_SEGMENT));
+    }
+
+    private static int positionOf(long slot) {
+        return slotPosition((int) (slot % SLOTS_PER_SEGMENT));
+    }
+
+    // Marca como borrados los slots del mapa y los quita del índice
+    private void kill(NavigableMap<Integer, Long> levels) {
+        for (long slot : levels.values()) {
+            segmentOf(slot).put(positionOf(slot), SLOT_DEAD);
+        }
+        levels.clear();
+    }
+
+    @Override
+    public synchronized void save(UUID playerUUID, LevelHistoryFile.LevelRecord record) throws IOException {
+        NavigableMap<Integer, Long> levels = index.computeIfAbsent(playerUUID, key -> new TreeMap<>());
+        kill(levels.tailMap(record.level(), true));
+
+        if (segments.isEmpty() || segments.get(segments.size() - 1).getInt(COUNT_OFFSET) >= SLOTS_PER_SEGMENT) {
+            segments.add(map(segments.size()));
+        }
+        int segment = segments.size() - 1;
+        MappedByteBuffer buffer = segments.get(segment);
+        int slotInSegment = buffer.getInt(COUNT_OFFSET);
+        int position = slotPosition(slotInSegment);
+
+        // El slot solo pasa a ser visible (vivo y contado) cuando está completo
+        LevelHistoryFile.encodeInto(buffer.slice(position + RECORD_OFFSET, LevelHistoryFile.RECORD_SIZE), record);
+        buffer.putLong(position + 1, playerUUID.getMostSignificantBits());
+        buffer.putLong(position + 9, playerUUID.getLeastSignificantBits());
+        buffer.put(position, SLOT_LIVE);
+        buffer.putInt(COUNT_OFFSET, slotInSegment + 1);
+
+        levels.put(record.level(), (long) segment * SLOTS_PER_SEGMENT + slotInSegment);
+    }
+
+    @Override
+    @Nullable
+    public synchronized LevelHistoryFile.LevelRecord read(UUID playerUUID, int level) {
+        NavigableMap<Integer, Long> levels = index.get(playerUUID);
+        Long slot = levels != null ? levels.get(level) : null;
+        if (slot == null) {
+            return null;
+        }
+        return LevelHistoryFile.decode(segmentOf(slot).slice(positionOf(slot) + RECORD_OFFSET, LevelHistoryFile.RECORD_SIZE));
+    }
+
+    @Override
+    public synchronized void truncateAbove(UUID playerUUID, int level) {
+        NavigableMap<Integer, Long> levels = index.get(playerUUID);
+        if (levels != null) {
+            kill(levels.tailMap(level, false));
+        }
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> importRecords(UUID playerUUID, List<LevelHistoryFile.LevelRecord> records) {
+        try {
+            for (LevelHistoryFile.LevelRecord record : records) {
+                save(playerUUID, record);
+            }
+            for (MappedByteBuffer buffer : segments) {
+                buffer.force();
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Recorre secuencialmente todos los registros vivos (consultas masivas, exportaciones).
+     *
+     * @param visitor Recibe el UUID del jugador y cada uno de sus registros.
+     */
+    synchronized void forEachLive(BiConsumer<UUID, LevelHistoryFile.LevelRecord> visitor) {
+        for (MappedByteBuffer buffer : segments) {
+            int count = buffer.getInt(COUNT_OFFSET);
+            for (int i = 0; i < count; i++) {
+                int position = slotPosition(i);
+                if (buffer.get(position) == SLOT_LIVE) {
+                    UUID playerUUID = new UUID(buffer.getLong(position + 1), buffer.getLong(position + 9));
+                    ByteBuffer record = buffer.slice(position + RECORD_OFFSET, LevelHistoryFile.RECORD_SIZE);
+                    visitor.accept(playerUUID, LevelHistoryFile.decode(record));
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (MappedByteBuffer buffer : segments) {
+            buffer.force();
+        }
+        segments.clear();
+        index.clear();
+    }
+}
@@ -1,7 +1,10 @@
 package net.iaxsro.rpgstats.system;
 
-import com.google.gson.*;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.config.ModConfig;
 import net.iaxsro.rpgstats.registry.AttributeRegistry;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
@@ -9,31 +12,37 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
 public final class PersistenceService {
 
     private static final Logger LOGGER = RpgStatsMod.LOGGER;
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final String STATS_SUBDIR = "rpgstats_playerdata";
-    private static final String FILENAME_FORMAT = "LV%d_Stats.json";
 
-    // Constantes para claves JSON
+    // Formato antiguo (un JSON por nivel); solo se lee para migrarlo al historial binario
+    private static final String LEGACY_FILENAME_PATTERN = "LV\\d+_Stats\\.json";
     private static final String KEY_LEVEL_DATA_ROOT = "Level %d Data"; // Formato para la clave raíz
     private static final String KEY_UUID = "UUID";
     private static final String KEY_LEVEL_NUMBER = "LevelNumber";
@@ -41,136 +50,191 @@ public final class PersistenceService {
     private static final String KEY_CALCULATED_BONUSES = "CalculatedTotalBonuses";
 
 
+    // Backend del mundo actual; se abre al primer acceso y se cierra al parar el servidor
+    @Nullable
+    private static LevelHistoryStore store;
+    @Nullable
+    private static Path storeRoot;
+    // Jugadores cuyo directorio antiguo ya se revisó en esta sesión
+    private static final Set<UUID> MIGRATION_CHECKED = new HashSet<>();
+
     private PersistenceService() {
     }
 
     /**
-     * Obtiene el directorio base para los datos de RPGStats de un jugador específico.
-     * Usa el UUID del jugador para mayor robustez.
-     * Ejemplo: saves/<worldname>/rpgstats_playerdata/<player_uuid>/
+     * Obtiene el backend de historial del servidor actual, abriéndolo si es necesario.
+     * El tipo de backend se decide al abrirlo (opción storage.useSegmentStorage).
+     * Raíz: saves/<worldname>/rpgstats_playerdata/
      */
     @Nullable
-    private static Path getPlayerStatsDirectory(Player player) {
+    private static synchronized LevelHistoryStore getStore() {
         MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
         if (server == null) {
             LOGGER.error("No se pudo obtener la instancia del servidor para determinar la ruta de guardado.");
             return null;
         }
-        String playerUUID = player.getUUID().toString();
-        Path worldSavePath = server.getWorldPath(LevelResource.ROOT);
-        return worldSavePath.resolve(STATS_SUBDIR).resolve(playerUUID);
+        Path root = server.getWorldPath(LevelResource.ROOT).resolve(STATS_SUBDIR);
+        if (store != null && root.equals(storeRoot)) {
+            return store;
+        }
+        closeStore();
+        try {
+            store = ModConfig.COMMON.useSegmentStorage.get()
+                    ? new MappedSegmentHistoryStore(root.resolve(MappedSegmentHistoryStore.SEGMENT_DIR))
+                    : new PlayerFileHistoryStore(root);
+            storeRoot = root;
+            LOGGER.info("Historial de niveles abierto en {} ({})", root, store.getClass().getSimpleName());
+        } catch (IOException e) {
+            LOGGER.error("Error al abrir el historial de niveles en {}: {}", root, e.getMessage());
+        }
+        return store;
+    }
+
+    private static synchronized void closeStore() {
+        if (store != null) {
+            store.close();
+        }
+        store = null;
+        storeRoot = null;
+        MIGRATION_CHECKED.clear();
     }
 
     /**
-     * Obtiene la ruta completa al archivo JSON para un nivel específico de un jugador.
+     * Obtiene el backend para un jugador y, la primera vez en la sesión, encola la migración de sus
+     * datos en formatos anteriores (JSON por nivel y, con el backend de segmentos, el archivo
+     * binario por jugador).
+     * <p>
+     * La migración (listado, lectura y parseo de los archivos antiguos e importación) se ejecuta
+     * entera en el hilo de {@link PersistenceWriter}, ordenada con las escrituras de
+     * {@link #historyKey}: las operaciones del jugador posteriores se aplican detrás de ella
+     * ({@link #runOrdered}) y las lecturas la esperan.
      */
     @Nullable
-    private static Path getLevelDataPath(Player player, int levelNumber) {
-        Path playerDir = getPlayerStatsDirectory(player);
-        if (playerDir == null) {
-            return null;
+    private static LevelHistoryStore getStore(Player player) {
+        LevelHistoryStore current = getStore();
+        if (current != null && MIGRATION_CHECKED.add(player.getUUID())) {
+            UUID playerUUID = player.getUUID();
+            Path playerDir = storeRoot.resolve(playerUUID.toString());
+            PersistenceWriter.submitDirect(historyKey(playerUUID), ignored -> {
+                if (Files.isDirectory(playerDir)) {
+                    migrateLegacyFiles(current, playerUUID, playerDir);
+                }
+            });
         }
-        String fileName = String.format(FILENAME_FORMAT, levelNumber);
-        return playerDir.resolve(fileName);
+        return current;
+    }
+
+    // Archivo con cuyas escrituras se ordenan las operaciones del jugador: su historial por jugador
+    // (el archivo del backend por defecto, o el que se migra con el de segmentos)
+    private static Path historyKey(UUID playerUUID) {
+        return storeRoot.resolve(playerUUID.toString()).resolve(PlayerFileHistoryStore.HISTORY_FILENAME);
+    }
+
+    @FunctionalInterface
+    private interface StoreOperation {
+        void run() throws IOException;
+    }
+
+    /**
+     * Ejecuta una modificación del historial del jugador detrás de lo que tenga encolado (su
+     * migración). El backend por jugador ya escribe a través de PersistenceWriter en ese orden;
+     * el de segmentos escribe en el momento salvo que haya algo pendiente, y entonces se encola.
+     */
+    private static void runOrdered(LevelHistoryStore historyStore, UUID playerUUID, StoreOperation operation) throws IOException {
+        Path key = historyKey(playerUUID);
+        if (historyStore instanceof PlayerFileHistoryStore || !PersistenceWriter.hasPending(key)) {
+            operation.run();
+        } else {
+            PersistenceWriter.submitDirect(key, ignored -> operation.run());
+        }
+    }
+
+    // Empieza la migración al conectarse, para que la primera subida de nivel no la espere
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(final PlayerEvent.PlayerLoggedInEvent event) {
+        getStore(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        // PersistenceWriter ya vació su cola en ServerStoppingEvent
+        closeStore();
     }
 
     /**
-     * Guarda los datos relevantes de un nivel específico para un jugador en un archivo JSON.
-     * Obtiene los atributos base del jugador en el momento de la llamada.
+     * Guarda los datos relevantes de un nivel específico para un jugador en su historial.
+     * Obtiene los atributos base del jugador en el momento de la llamada; con el backend por
+     * jugador la escritura en disco se hace de forma asíncrona en {@link PersistenceWriter}.
+     * Guardar un nivel descarta cualquier registro de ese nivel o superiores.
      */
     public static void saveLevelData(ServerPlayer player, int levelNumber, UUID levelUUID, AttributeCalculator.CalculatedBonuses bonuses) {
-        Path filePath = getLevelDataPath(player, levelNumber);
-        if (filePath == null) {
-            LOGGER.error("No se pudo obtener la ruta del archivo para guardar datos del nivel {} para {}", levelNumber, player.getName().getString());
+        LevelHistoryStore historyStore = getStore(player);
+        if (historyStore == null) {
+            LOGGER.error("No se pudo obtener el historial para guardar datos del nivel {} para {}", levelNumber, player.getName().getString());
             return;
         }
 
-        JsonObject root = new JsonObject();
-        JsonObject levelData = new JsonObject();
-        root.add(String.format(KEY_LEVEL_DATA_ROOT, levelNumber), levelData); // Usa constante formateada
-
-        levelData.addProperty(KEY_UUID, levelUUID.toString());
-        levelData.addProperty(KEY_LEVEL_NUMBER, levelNumber);
-
-        // Obtener y guardar Atributos Base del Momento
-        JsonObject attributePoints = new JsonObject();
-        saveBaseAttributeValue(player, AttributeRegistry.STRENGTH.get(), attributePoints);
-        saveBaseAttributeValue(player, AttributeRegistry.DEXTERITY.get(), attributePoints);
-        saveBaseAttributeValue(player, AttributeRegistry.VITALITY.get(), attributePoints);
-        saveBaseAttributeValue(player, AttributeRegistry.CONSTITUTION.get(), attributePoints);
-        saveBaseAttributeValue(player, AttributeRegistry.INTELLIGENCE.get(), attributePoints);
-        levelData.add(KEY_BASE_ATTRIBUTES, attributePoints);
-
-        // Guardar Bonificaciones Calculadas (Totales)
-        JsonObject totalBonuses = new JsonObject();
-        totalBonuses.addProperty("AttackDamage", bonuses.attackDamageAddition);
-        totalBonuses.addProperty("MovementSpeedMultiplier", bonuses.movementSpeedMultiplier);
-        totalBonuses.addProperty("MaxHealth", bonuses.totalMaxHealthAddition);
-        totalBonuses.addProperty("Armor", bonuses.totalArmorAddition);
-        totalBonuses.addProperty("AttackSpeed", bonuses.totalAttackSpeedAddition);
-        totalBonuses.addProperty("ArmorToughness", bonuses.armorToughnessAddition);
-        totalBonuses.addProperty("AttackKnockback", bonuses.totalAttackKnockbackAddition);
-        totalBonuses.addProperty("KnockbackResistance", bonuses.knockbackResistanceAddition);
-        totalBonuses.addProperty("SwimSpeed", bonuses.totalSwimSpeedAddition);
-        totalBonuses.addProperty("Impact", bonuses.totalImpactAddition);
-        totalBonuses.addProperty("ArmorNegation", bonuses.totalArmorNegationAddition);
-        totalBonuses.addProperty("StunArmor", bonuses.stunArmorAddition);
-        totalBonuses.addProperty("Stamina", bonuses.totalStaminaAddition);
-        totalBonuses.addProperty("StaminaRegen", bonuses.totalStaminaRegenAddition);
-        totalBonuses.addProperty("WeightReductionMultiplier", bonuses.totalWeightReduction);
-        levelData.add(KEY_CALCULATED_BONUSES, totalBonuses);
-
-        // Escribir el Archivo JSON
+        // Obtener Atributos Base del Momento (orden STR, DEX, VIT, CON, INT)
+        double[] baseValues = new double[LevelHistoryFile.BASE_COUNT];
+        for (int i = 0; i < baseValues.length; i++) {
+            baseValues[i] = player.getAttributeBaseValue(AttributeRegistry.byStatIndex(i));
+        }
+
+        // Los valores se capturan aquí; el backend puede escribirlos en otro hilo
+        LevelHistoryFile.LevelRecord record = new LevelHistoryFile.LevelRecord(levelNumber, levelUUID, baseValues, bonuses.totals());
+        LevelDataCache.putSaved(player.getUUID(), record);
         try {
-            Files.createDirectories(filePath.getParent());
-            try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                GSON.toJson(root, writer);
-                LOGGER.debug("Datos del nivel {} para {} guardados en {}", levelNumber, player.getName().getString(), filePath);
-            }
-        } catch (IOException | JsonIOException e) {
-            LOGGER.error("Error al guardar datos del nivel {} para {} en {}: {}", levelNumber, player.getName().getString(), filePath, e.getMessage());
+            runOrdered(historyStore, player.getUUID(), () -> historyStore.save(player.getUUID(), record));
+            LOGGER.debug("Datos del nivel {} para {} guardados.", levelNumber, player.getName().getString());
+        } catch (IOException e) {
+            LOGGER.error("Error al guardar datos del nivel {} para {}: {}", levelNumber, player.getName().getString(), e.getMessage());
         }
     }
 
-    // Helper para guardar un atributo base en el JsonObject
-    private static void saveBaseAttributeValue(Player player, Attribute attribute, JsonObject jsonObject) {
+    // Clave con la que se expone un atributo base en LevelSaveData (path del registro o fallback)
+    private static String baseAttributeKey(Attribute attribute) {
         ResourceLocation key = ForgeRegistries.ATTRIBUTES.getKey(attribute);
-        String attributeKey = (key != null) ? key.getPath() : attribute.getDescriptionId(); // Usa path o fallback
-        double value = player.getAttributeBaseValue(attribute);
-        jsonObject.addProperty(attributeKey, value);
+        return (key != null) ? key.getPath() : attribute.getDescriptionId(); // Usa path o fallback
     }
 
-
     /**
-     * Obtiene el UUID asociado a un número de nivel específico para un jugador.
+     * Lee el registro de un nivel del historial del jugador, pasando primero por {@link LevelDataCache}.
      */
     @Nullable
-    public static UUID getUUIDForLevel(Player player, int levelNumber) {
-        if (levelNumber <= 0) return null;
-
-        Path filePath = getLevelDataPath(player, levelNumber);
-        if (filePath == null || !Files.exists(filePath)) {
-            LOGGER.trace("Archivo de datos para nivel {} de {} no encontrado.", levelNumber, player.getName().getString());
+    private static LevelHistoryFile.LevelRecord readRecord(Player player, int levelNumber) {
+        LevelHistoryFile.LevelRecord cached = LevelDataCache.get(player.getUUID(), levelNumber);
+        if (cached != null) {
+            return cached;
+        }
+        LevelHistoryStore historyStore = getStore(player);
+        if (historyStore == null) {
             return null;
         }
-
-        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
-            JsonObject levelData = root.getAsJsonObject(String.format(KEY_LEVEL_DATA_ROOT, levelNumber)); // Usa constante formateada
-            if (levelData != null && levelData.has(KEY_UUID)) {
-                return UUID.fromString(levelData.get(KEY_UUID).getAsString());
+        try {
+            // La migración del jugador puede estar aún en curso (falla si no termina a tiempo)
+            PersistenceWriter.awaitPending(historyKey(player.getUUID()));
+            LevelHistoryFile.LevelRecord record = historyStore.read(player.getUUID(), levelNumber);
+            if (record == null) {
+                LOGGER.trace("Registro del nivel {} de {} no encontrado.", levelNumber, player.getName().getString());
             } else {
-                LOGGER.warn("El archivo {} no contiene '{}' o la clave '{}'.", filePath, String.format(KEY_LEVEL_DATA_ROOT, levelNumber), KEY_UUID);
+                LevelDataCache.put(player.getUUID(), record);
             }
-        } catch (NoSuchFileException e) {
-            LOGGER.trace("Archivo de datos para nivel {} de {} no encontrado (NoSuchFileException).", levelNumber, player.getName().getString());
-        } catch (IOException | JsonParseException | IllegalStateException | IllegalArgumentException |
-                 NullPointerException e) {
-            LOGGER.error("Error al leer UUID del nivel {} para {} desde {}: {}", levelNumber, player.getName().getString(), filePath, e.getMessage());
+            return record;
+        } catch (IOException e) {
+            LOGGER.error("Error al leer el nivel {} para {}: {}", levelNumber, player.getName().getString(), e.getMessage());
+            return null;
         }
-        return null;
     }
 
+    /**
+     * Obtiene el UUID asociado a un número de nivel específico para un jugador.
+     */
+    @Nullable
+    public static UUID getUUIDForLevel(Player player, int levelNumber) {
+        if (levelNumber <= 0) return null;
+        LevelHistoryFile.LevelRecord record = readRecord(player, levelNumber);
+        return record != null ? record.levelUUID() : null;
+    }
 
     /**
      * Carga los datos guardados (UUID y atributos base) para un nivel específico.
@@ -178,67 +242,146 @@ public final class PersistenceService {
     @Nullable
     public static LevelSaveData loadLevelSaveData(Player player, int levelNumber) {
         if (levelNumber <= 0) return null;
-        Path filePath = getLevelDataPath(player, levelNumber);
-        if (filePath == null || !Files.exists(filePath)) return null;
+        LevelHistoryFile.LevelRecord record = readRecord(player, levelNumber);
+        if (record == null) return null;
 
-        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
-            JsonObject levelData = root.getAsJsonObject(String.format(KEY_LEVEL_DATA_ROOT, levelNumber)); // Usa constante formateada
-            if (levelData == null) return null;
-
-            UUID uuid = null;
-            if (levelData.has(KEY_UUID)) {
-                uuid = UUID.fromString(levelData.get(KEY_UUID).getAsString());
-            }
-
-            Map<String, Double> baseAttributes = new HashMap<>();
-            if (levelData.has(KEY_BASE_ATTRIBUTES) && levelData.get(KEY_BASE_ATTRIBUTES).isJsonObject()) {
-                JsonObject attributesJson = levelData.getAsJsonObject(KEY_BASE_ATTRIBUTES);
-                for (Map.Entry<String, JsonElement> entry : attributesJson.entrySet()) {
-                    if (entry.getValue().isJsonPrimitive() && entry.getValue().getAsJsonPrimitive().isNumber()) {
-                        baseAttributes.put(entry.getKey(), entry.getValue().getAsDouble());
-                    }
-                }
-            }
-
-            if (uuid != null && !baseAttributes.isEmpty()) {
-                return new LevelSaveData(uuid, baseAttributes);
-            }
-
-        } catch (Exception e) {
-            LOGGER.error("Error al cargar LevelSaveData del nivel {} para {} desde {}: {}", levelNumber, player.getName().getString(), filePath, e.getMessage());
+        Map<String, Double> baseAttributes = new HashMap<>();
+        for (int i = 0; i < LevelHistoryFile.BASE_COUNT; i++) {
+            baseAttributes.put(baseAttributeKey(AttributeRegistry.byStatIndex(i)), record.baseValues()[i]);
         }
-        return null;
+        return new LevelSaveData(record.levelUUID(), baseAttributes);
     }
 
     /**
-     * Elimina los archivos de datos de nivel para un jugador por encima de un nivel objetivo.
+     * Elimina los datos de nivel de un jugador por encima de un nivel objetivo
+     * (un único truncado del historial).
      */
     public static void deleteLevelDataAbove(Player player, int targetLevel) {
-        Path playerDir = getPlayerStatsDirectory(player);
-        if (playerDir == null || !Files.isDirectory(playerDir)) {
+        LevelHistoryStore historyStore = getStore(player);
+        if (historyStore == null) {
             return;
         }
 
         LOGGER.warn("Eliminando datos de nivel > {} para jugador UUID {}", targetLevel, player.getUUID());
-        try (Stream<Path> stream = Files.list(playerDir)) {
-            stream.filter(path -> path.getFileName().toString().matches("LV\\d+_Stats\\.json"))
-                    .forEach(path -> {
+        LevelDataCache.invalidateAbove(player.getUUID(), targetLevel);
+        try {
+            runOrdered(historyStore, player.getUUID(), () -> historyStore.truncateAbove(player.getUUID(), targetLevel));
+        } catch (IOException e) {
+            LOGGER.error("Error al truncar el historial de {}: {}", player.getUUID(), e.getMessage());
+        }
+    }
+
+    // --- Migración de formatos anteriores ---
+
+    /**
+     * Importa al backend los datos antiguos del directorio del jugador y los elimina (en el hilo
+     * de PersistenceWriter, donde la importación se aplica en el momento):
+     * el historial binario por jugador (solo si el backend es otro) y los archivos LV%d_Stats.json.
+     * Los archivos de origen se borran solo cuando la importación se ha persistido; si algún
+     * archivo no se puede leer, o la importación falla, se conserva en disco para no perder datos.
+     */
+    private static void migrateLegacyFiles(LevelHistoryStore historyStore, UUID playerUUID, Path playerDir) {
+        if (!(historyStore instanceof PlayerFileHistoryStore)) {
+            Path historyFile = playerDir.resolve(PlayerFileHistoryStore.HISTORY_FILENAME);
+            try {
+                List<LevelHistoryFile.LevelRecord> records = LevelHistoryFile.readAll(historyFile);
+                if (!records.isEmpty()) {
+                    historyStore.importRecords(playerUUID, records).whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            LOGGER.error("Error al migrar el historial {}: {}", historyFile, error.getMessage());
+                            return;
+                        }
                         try {
-                            String fileName = path.getFileName().toString();
-                            // Extraer número de nivel del nombre de archivo
-                            int levelNum = Integer.parseInt(fileName.substring(2, fileName.indexOf("_")));
-                            if (levelNum > targetLevel) {
-                                if (Files.deleteIfExists(path)) {
-                                    LOGGER.debug("Archivo eliminado: {}", path);
-                                }
-                            }
-                        } catch (NumberFormatException | IOException | StringIndexOutOfBoundsException e) {
-                            LOGGER.error("Error procesando o eliminando archivo {}: {}", path, e.getMessage());
+                            Files.delete(historyFile);
+                            LOGGER.info("Migrados {} niveles de {} al backend de segmentos", records.size(), historyFile);
+                        } catch (IOException e) {
+                            LOGGER.error("Error al borrar el historial migrado {}: {}", historyFile, e.getMessage());
                         }
                     });
+                }
+            } catch (IOException e) {
+                LOGGER.error("Error al migrar el historial {}: {}", historyFile, e.getMessage());
+            }
+        } else if (Files.exists(((PlayerFileHistoryStore) historyStore).historyPath(playerUUID))) {
+            return; // Ya migrado en una sesión anterior
+        }
+
+        List<Path> legacyFiles;
+        try (Stream<Path> stream = Files.list(playerDir)) {
+            legacyFiles = stream.filter(path -> path.getFileName().toString().matches(LEGACY_FILENAME_PATTERN)).toList();
         } catch (IOException e) {
-            LOGGER.error("Error al listar directorio {} para eliminar archivos de nivel: {}", playerDir, e.getMessage());
+            LOGGER.error("Error al listar directorio {} para migrar archivos de nivel: {}", playerDir, e.getMessage());
+            return;
+        }
+        if (legacyFiles.isEmpty()) {
+            return;
+        }
+
+        List<LevelHistoryFile.LevelRecord> records = new ArrayList<>();
+        List<Path> migrated = new ArrayList<>();
+        for (Path path : legacyFiles) {
+            LevelHistoryFile.LevelRecord record = readLegacyFile(path);
+            if (record != null) {
+                records.add(record);
+                migrated.add(path);
+            }
+        }
+        records.sort(Comparator.comparingInt(LevelHistoryFile.LevelRecord::level));
+
+        // Los JSON se borran solo cuando el historial importado ya está en disco
+        historyStore.importRecords(playerUUID, records).whenComplete((ignored, error) -> {
+            if (error != null) {
+                LOGGER.error("Error al migrar archivos de nivel de {}: {}", playerDir, error.getMessage());
+                return;
+            }
+            try {
+                for (Path path : migrated) {
+                    Files.deleteIfExists(path);
+                }
+                LOGGER.info("Migrados {} archivos de nivel JSON de {}", migrated.size(), playerDir);
+            } catch (IOException e) {
+                LOGGER.error("Error al borrar archivos de nivel migrados de {}: {}", playerDir, e.getMessage());
+            }
+        });
+    }
+
+    @Nullable
+    private static LevelHistoryFile.LevelRecord readLegacyFile(Path path) {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            String fileName = path.getFileName().toString();
+            int levelNumber = Integer.parseInt(fileName.substring(2, fileName.indexOf("_")));
+            JsonObject levelData = root.getAsJsonObject(String.format(KEY_LEVEL_DATA_ROOT, levelNumber));
+            if (levelData == null || !levelData.has(KEY_UUID)) {
+                LOGGER.warn("El archivo {} no contiene '{}' o la clave '{}'.", path, String.format(KEY_LEVEL_DATA_ROOT, levelNumber), KEY_UUID);
+                return null;
+            }
+            if (levelData.has(KEY_LEVEL_NUMBER)) {
+                levelNumber = levelData.get(KEY_LEVEL_NUMBER).getAsInt();
+            }
+            UUID uuid = UUID.fromString(levelData.get(KEY_UUID).getAsString());
+
+            double[] baseValues = new double[LevelHistoryFile.BASE_COUNT];
+            JsonObject attributesJson = levelData.getAsJsonObject(KEY_BASE_ATTRIBUTES);
+            for (int i = 0; i < baseValues.length; i++) {
+                String key = baseAttributeKey(AttributeRegistry.byStatIndex(i));
+                if (attributesJson != null && attributesJson.has(key)) {
+                    baseValues[i] = attributesJson.get(key).getAsDouble();
+                }
+            }
+
+            double[] bonuses = new double[LevelHistoryFile.BONUS_COUNT];
+            JsonObject bonusesJson = levelData.getAsJsonObject(KEY_CALCULATED_BONUSES);
+            for (BonusOutput output : BonusOutput.VALUES) {
+                if (bonusesJson != null && bonusesJson.has(output.key())) {
+                    bonuses[output.ordinal()] = bonusesJson.get(output.key()).getAsDouble();
+                }
+            }
+            return new LevelHistoryFile.LevelRecord(levelNumber, uuid, baseValues, bonuses);
+        } catch (IOException | JsonParseException | IllegalStateException | IllegalArgumentException |
+                 ClassCastException | StringIndexOutOfBoundsException e) {
+            LOGGER.error("Error al leer el archivo de nivel antiguo {}: {}", path, e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,302 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritor en segundo plano de los archivos de persistencia.
+ * <p>
+ * Un único hilo de E/S consume una cola acotada de operaciones, por lo que las escrituras
+ * de un mismo archivo se aplican en orden y el hilo del servidor nunca espera al disco
+ * (salvo si la cola se llena, lo que se contabiliza como contrapresión).
+ * Cada operación se aplica sobre una copia temporal que después se mueve de forma atómica
+ * sobre el archivo original, de modo que un cierre inesperado nunca deja un archivo a medias.
+ * Las tareas de E/S que no modifican un único archivo (migraciones) pueden encolarse sin copia
+ * temporal con {@link #submitDirect}, ordenadas igualmente con las escrituras del archivo indicado.
+ * Una escritura enviada desde el propio hilo de E/S (dentro de otra tarea) se aplica en el momento,
+ * como parte de esa tarea.
+ * La cola se vacía por completo en {@link ServerStoppingEvent}.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class PersistenceWriter {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+    private static final String THREAD_NAME = "RpgStats-Persistence";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long STOP_TIMEOUT_MS = 10_000L;
+    private static final long READ_TIMEOUT_MS = 5_000L;
+
+    /**
+     * Modificación de un archivo. Recibe la ruta de la copia temporal sobre la que debe trabajar
+     * (el propio archivo en {@link #submitDirect}).
+     */
+    @FunctionalInterface
+    public interface WriteOperation {
+        void apply(Path target) throws IOException;
+    }
+
+    // Tarea de la cola: una escritura (atómica o directa) y su resultado, o la señal de parada
+    private record Task(@Nullable Path file, @Nullable WriteOperation operation, @Nullable CompletableFuture<Void> done,
+                        boolean atomic) {
+    }
+
+    private static final Task STOP = new Task(null, null, null, false);
+
+    private static final BlockingQueue<Task> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // Última escritura aún no aplicada de cada archivo; como se aplican en orden, al completarse
+    // están aplicadas todas las anteriores del mismo archivo
+    private static final Map<Path, CompletableFuture<Void>> LAST_WRITE = new ConcurrentHashMap<>();
+    @Nullable
+    private static volatile Thread writerThread;
+
+    // --- Métricas ---
+    private static final AtomicLong submittedCount = new AtomicLong();   // Escrituras encoladas
+    private static final AtomicLong writtenCount = new AtomicLong();     // Escrituras aplicadas con éxito
+    private static final AtomicLong failedCount = new AtomicLong();      // Escrituras fallidas
+    private static final AtomicLong backpressureCount = new AtomicLong(); // Envíos que encontraron la cola llena
+    private static final AtomicLong backpressureNanos = new AtomicLong(); // Tiempo total bloqueado por cola llena
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private PersistenceWriter() {
+    }
+
+    /**
+     * Encola una modificación del archivo indicado. Si la cola está llena, el llamador
+     * espera hasta que haya sitio (nunca se descartan escrituras).
+     *
+     * @param file      El archivo final a modificar.
+     * @param operation La modificación, aplicada sobre una copia temporal del archivo.
+     * @return Se completa cuando la modificación se ha movido sobre el archivo, o con error si falló.
+     */
+    public static CompletableFuture<Void> submit(Path file, WriteOperation operation) {
+        return submit(new Task(file, operation, new CompletableFuture<>(), true));
+    }
+
+    /**
+     * Encola una tarea de E/S sin copia temporal, ordenada con las escrituras de {@code file}:
+     * se ejecuta después de las ya encoladas para ese archivo, y las lecturas que esperan a
+     * {@link #awaitPending} del archivo esperan también a ella.
+     *
+     * @param file      Archivo con cuyas escrituras se ordena la tarea.
+     * @param operation La tarea; recibe {@code file} y gestiona ella misma sus archivos.
+     */
+    public static CompletableFuture<Void> submitDirect(Path file, WriteOperation operation) {
+        return submit(new Task(file, operation, new CompletableFuture<>(), false));
+    }
+
+    /**
+     * @return true si hay escrituras o tareas encoladas aún sin aplicar para el archivo.
+     */
+    public static boolean hasPending(Path file) {
+        return LAST_WRITE.containsKey(file);
+    }
+
+    private static CompletableFuture<Void> submit(Task task) {
+        submittedCount.incrementAndGet();
+        if (Thread.currentThread() == writerThread) {
+            // Dentro de otra tarea: forma parte de ella, y encolarla la adelantaría a escrituras posteriores
+            runTask(task);
+            return task.done();
+        }
+        ensureStarted();
+        LAST_WRITE.put(task.file(), task.done());
+        enqueue(task);
+        return task.done();
+    }
+
+    /**
+     * Bloquea hasta que se hayan aplicado las escrituras pendientes de este archivo (no las de
+     * otros archivos en cola). Se usa antes de leer para no observar un estado anterior a una
+     * escritura encolada; sin escrituras pendientes del archivo vuelve de inmediato.
+     *
+     * @param file El archivo a consultar.
+     * @throws IOException Si las escrituras no terminan a tiempo: el archivo aún no refleja
+     *                     su último estado y no debe leerse.
+     */
+    public static void awaitPending(Path file) throws IOException {
+        CompletableFuture<Void> last = LAST_WRITE.get(file);
+        if (last == null || Thread.currentThread() == writerThread) {
+            return;
+        }
+        try {
+            last.get(READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpido esperando escrituras pendientes de " + file);
+        } catch (TimeoutException e) {
+            throw new IOException("Tiempo de espera agotado esperando escrituras pendientes de " + file);
+        } catch (ExecutionException e) {
+            // La escritura falló (ya registrado): el archivo conserva su último estado completo
+        }
+    }
+
+    private static void enqueue(Task task) {
+        if (!QUEUE.offer(task)) {
+            backpressureCount.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                QUEUE.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrumpido esperando sitio en la cola de persistencia; la tarea se ejecuta en el hilo actual.");
+                runTask(task);
+            } finally {
+                backpressureNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        maxQueueDepth.accumulateAndGet(QUEUE.size(), Math::max);
+    }
+
+    private static synchronized void ensureStarted() {
+        Thread thread = writerThread;
+        if (thread != null && thread.isAlive()) {
+            return;
+        }
+        thread = new Thread(PersistenceWriter::runLoop, THREAD_NAME);
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        LOGGER.debug("Hilo de persistencia iniciado.");
+    }
+
+    private static void runLoop() {
+        while (true) {
+            Task task;
+            try {
+                task = QUEUE.take();
+            } catch (InterruptedException e) {
+                LOGGER.warn("Hilo de persistencia interrumpido con {} tareas en cola.", QUEUE.size());
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            runTask(task);
+        }
+    }
+
+    private static void runTask(Task task) {
+        Path file = task.file();
+        CompletableFuture<Void> done = task.done();
+        try {
+            if (task.atomic()) {
+                writeAtomically(file, task.operation());
+            } else {
+                task.operation().apply(file);
+            }
+            writtenCount.incrementAndGet();
+            done.complete(null);
+        } catch (IOException | RuntimeException e) {
+            failedCount.incrementAndGet();
+            LOGGER.error("Error al escribir {}: {}", file, e.getMessage());
+            done.completeExceptionally(e);
+        } finally {
+            LAST_WRITE.remove(file, done); // Solo si no se encoló otra posterior
+        }
+    }
+
+    /**
+     * Aplica la operación sobre una copia temporal y la mueve atómicamente sobre el archivo.
+     */
+    private static void writeAtomically(Path file, WriteOperation operation) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        if (Files.exists(file)) {
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(temp);
+        }
+
+        operation.apply(temp);
+        if (!Files.exists(temp)) {
+            return; // La operación no tenía nada que escribir
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Vacía la cola y detiene el hilo de escritura. Si llegan nuevas escrituras después,
+     * el hilo se vuelve a crear.
+     */
+    private static synchronized void drainAndStop() {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        try {
+            QUEUE.put(STOP);
+            thread.join(STOP_TIMEOUT_MS);
+            if (thread.isAlive()) {
+                LOGGER.error("El hilo de persistencia no terminó en {} ms; quedan {} tareas.", STOP_TIMEOUT_MS, QUEUE.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(final ServerStoppingEvent event) {
+        drainAndStop();
+        LOGGER.debug("Persistencia: {} escrituras encoladas, {} aplicadas, {} fallidas; cola llena {} veces ({} ms bloqueado), profundidad máxima {}.",
+                submittedCount.get(), writtenCount.get(), failedCount.get(), backpressureCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(backpressureNanos.get()), maxQueueDepth.get());
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public static long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public static long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public static long getBackpressureCount() {
+        return backpressureCount.get();
+    }
+
+    public static long getBackpressureNanos() {
+        return backpressureNanos.get();
+    }
+
+    public static int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public static int getQueueDepth() {
+        return QUEUE.size();
+    }
+}
@@ -0,0 +1,62 @@
+package net.iaxsro.rpgstats.system;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Backend por defecto: un archivo {@link LevelHistoryFile} por jugador en
+ * rpgstats_playerdata/<player_uuid>/. Las escrituras pasan por {@link PersistenceWriter}.
+ */
+final class PlayerFileHistoryStore implements LevelHistoryStore {
+
+    static final String HISTORY_FILENAME = "level_history.bin";
+
+    private final Path root;
+
+    PlayerFileHistoryStore(Path root) {
+        this.root = root;
+    }
+
+    Path historyPath(UUID playerUUID) {
+        return root.resolve(playerUUID.toString()).resolve(HISTORY_FILENAME);
+    }
+
+    @Override
+    public void save(UUID playerUUID, LevelHistoryFile.LevelRecord record) {
+        PersistenceWriter.submit(historyPath(playerUUID), target -> LevelHistoryFile.append(target, record));
+    }
+
+    @Override
+    @Nullable
+    public LevelHistoryFile.LevelRecord read(UUID playerUUID, int level) throws IOException {
+        Path file = historyPath(playerUUID);
+        // Una escritura encolada del mismo historial debe verse antes de leer
+        PersistenceWriter.awaitPending(file);
+        return LevelHistoryFile.read(file, level);
+    }
+
+    @Override
+    public void truncateAbove(UUID playerUUID, int level) {
+        PersistenceWriter.submit(historyPath(playerUUID), target -> LevelHistoryFile.truncateAbove(target, level));
+    }
+
+    @Override
+    public CompletableFuture<Void> importRecords(UUID playerUUID, List<LevelHistoryFile.LevelRecord> records) {
+        // Una sola operación: todos los registros van a la misma copia temporal, que se mueve al final
+        return PersistenceWriter.submit(historyPath(playerUUID), target -> {
+            for (LevelHistoryFile.LevelRecord record : records) {
+                LevelHistoryFile.append(target, record);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        // Las escrituras pendientes las vacía PersistenceWriter en ServerStoppingEvent
+    }
+}
@@ -0,0 +1,258 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.capabilities.IPlayerStats;
+import net.iaxsro.rpgstats.capabilities.PlayerStats;
+import net.iaxsro.rpgstats.capabilities.StatType;
+import net.iaxsro.rpgstats.registry.AttributeRegistry;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copia en memoria contigua de las estadísticas de todos los jugadores conectados, organizada
+ * como estructura de arrays: una columna primitiva por estadística (puntos, iteraciones, nivel y
+ * atributos base) indexada por un número de slot denso.
+ * <p>
+ * El slot se asigna al conectarse y se libera al desconectarse (los libres se reutilizan).
+ * Las filas se actualizan al conectarse, al reaparecer y cada vez que
+ * {@link net.iaxsro.rpgstats.network.PlayerStatsSyncScheduler} envía cambios del jugador, así que
+ * reflejan el estado sincronizado al final de cada tick. Los procesos por lotes (recálculos,
+ * clasificaciones, métricas) recorren las columnas sin resolver capacidades jugador a jugador.
+ * Todas las llamadas deben hacerse desde el hilo del servidor.
+ */
+@Mod.EventBusSubscriber(modid = RpgStatsMod.MOD_ID)
+public final class PlayerStatTable {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static int capacity = INITIAL_CAPACITY;
+    private static int highWater = 0; // Slots [0, highWater) han estado en uso alguna vez
+    private static int size = 0;
+
+    private static final Map<UUID, Integer> SLOTS = new HashMap<>();
+    private static int[] freeSlots = new int[INITIAL_CAPACITY];
+    private static int freeCount = 0;
+
+    // --- Columnas ---
+    private static ServerPlayer[] players = new ServerPlayer[INITIAL_CAPACITY];
+    private static boolean[] occupied = new boolean[INITIAL_CAPACITY];
+    private static int[] levels = new int[INITIAL_CAPACITY];
+    // [StatType.ordinal()][slot]
+    private static double[][] stats = new double[StatType.COUNT][INITIAL_CAPACITY];
+    // [índice de atributo (STR, DEX, VIT, CON, INT)][slot]
+    private static double[][] bases = new double[StatType.ATTRIBUTE_COUNT][INITIAL_CAPACITY];
+
+    // Vector de la capacidad reutilizado en cada actualización
+    private static final double[] SCRATCH = new double[StatType.COUNT];
+
+    // --- Métricas ---
+    private static long assignedCount = 0;
+    private static long freedCount = 0;
+    private static long refreshCount = 0;
+
+    private PlayerStatTable() {
+    }
+
+    // --- Ciclo de vida de los slots ---
+
+    // Prioridad alta: la fila existe antes que el resto de manejadores de conexión
+    @SubscribeEvent(priority = EventPriority.HIGH)
+    public static void onPlayerLogin(final PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            refresh(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(final PlayerEvent.PlayerRespawnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            refresh(player); // La entidad es nueva tras reaparecer
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent event) {
+        Integer slot = SLOTS.remove(event.getEntity().getUUID());
+        if (slot == null) {
+            return;
+        }
+        occupied[slot] = false;
+        players[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+        freedCount++;
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        LOGGER.debug("Tabla de jugadores: {} slots asignados, {} liberados, {} actualizaciones, capacidad {}.",
+                assignedCount, freedCount, refreshCount, capacity);
+        SLOTS.clear();
+        Arrays.fill(players, null);
+        Arrays.fill(occupied, false);
+        highWater = 0;
+        size = 0;
+        freeCount = 0;
+    }
+
+    private static int assign(ServerPlayer player) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == capacity) {
+                grow();
+            }
+            slot = highWater++;
+        }
+        SLOTS.put(player.getUUID(), slot);
+        occupied[slot] = true;
+        size++;
+        assignedCount++;
+        return slot;
+    }
+
+    private static void grow() {
+        capacity *= 2;
+        players = Arrays.copyOf(players, capacity);
+        occupied = Arrays.copyOf(occupied, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = Arrays.copyOf(stats[i], capacity);
+        }
+        for (int i = 0; i < bases.length; i++) {
+            bases[i] = Arrays.copyOf(bases[i], capacity);
+        }
+    }
+
+    // --- Actualización de filas ---
+
+    /**
+     * Copia a la tabla el estado actual del jugador, asignándole un slot si aún no lo tiene.
+     */
+    public static void refresh(ServerPlayer player) {
+        IPlayerStats playerStats = player.getCapability(PlayerStats.PLAYER_STATS_CAPABILITY).orElse(null);
+        if (playerStats != null) {
+            refresh(player, playerStats);
+        }
+    }
+
+    /**
+     * Igual que {@link #refresh(ServerPlayer)} con la capacidad ya resuelta.
+     */
+    public static void refresh(ServerPlayer player, IPlayerStats playerStats) {
+        Integer existing = SLOTS.get(player.getUUID());
+        int slot = existing != null ? existing : assign(player);
+        players[slot] = player;
+        levels[slot] = playerStats.getLevel();
+        playerStats.copyInto(SCRATCH);
+        for (int i = 0; i < StatType.COUNT; i++) {
+            stats[i][slot] = SCRATCH[i];
+        }
+        for (int i = 0; i < StatType.ATTRIBUTE_COUNT; i++) {
+            bases[i][slot] = player.getAttributeBaseValue(AttributeRegistry.byStatIndex(i));
+        }
+        refreshCount++;
+    }
+
+    // --- Acceso por lotes ---
+
+    /**
+     * @return Límite superior (exclusivo) de los slots que pueden estar ocupados.
+     */
+    public static int highWater() {
+        return highWater;
+    }
+
+    public static int size() {
+        return size;
+    }
+
+    public static boolean isOccupied(int slot) {
+        return occupied[slot];
+    }
+
+    /**
+     * @return El slot del jugador, o -1 si no está conectado.
+     */
+    public static int slotOf(UUID playerUUID) {
+        Integer slot = SLOTS.get(playerUUID);
+        return slot != null ? slot : -1;
+    }
+
+    @Nullable
+    public static ServerPlayer player(int slot) {
+        return players[slot];
+    }
+
+    public static int level(int slot) {
+        return levels[slot];
+    }
+
+    public static double stat(StatType type, int slot) {
+        return stats[type.ordinal()][slot];
+    }
+
+    /**
+     * @param attributeIndex Índice del atributo base (0 = STR ... 4 = INT).
+     */
+    public static double base(int attributeIndex, int slot) {
+        return bases[attributeIndex][slot];
+    }
+
+    /**
+     * Columna completa de una estadística, indexada por slot. Solo lectura; válida hasta
+     * que la tabla crezca (no conservar entre ticks).
+     */
+    public static double[] column(StatType type) {
+        return stats[type.ordinal()];
+    }
+
+    /**
+     * Columna completa de un atributo base, indexada por slot. Solo lectura; válida hasta
+     * que la tabla crezca (no conservar entre ticks).
+     */
+    public static double[] baseColumn(int attributeIndex) {
+        return bases[attributeIndex];
+    }
+
+    /**
+     * Columna de niveles, indexada por slot. Solo lectura; válida hasta que la tabla crezca.
+     */
+    public static int[] levelColumn() {
+        return levels;
+    }
+
+    // --- Getters de Métricas ---
+
+    public static long getAssignedCount() {
+        return assignedCount;
+    }
+
+    public static long getFreedCount() {
+        return freedCount;
+    }
+
+    public static long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public static int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,142 @@
+package net.iaxsro.rpgstats.system;
+
+import net.iaxsro.rpgstats.RpgStatsMod;
+import net.iaxsro.rpgstats.config.ModConfig;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * Fórmulas definidas por expresión en la configuración, compiladas con {@link FormulaCompiler}.
+ * <p>
+ * Cada bonificación puede sustituir su fila de la matriz de divisores por una expresión sobre
+ * {@code str, dex, vit, con}; la ganancia de Fuerza por golpe puede sustituirse por una expresión
+ * sobre {@code damage, iterations, potential, multiplier, variation, exponent}.
+ * Una expresión vacía conserva la fórmula integrada. Se compilan al cargar o recargar la
+ * configuración; una expresión inválida se registra y se ignora.
+ * <p>
+ * Las fórmulas se publican como destino de un {@link MutableCallSite} guardado en un campo
+ * {@code static final}, y se invocan a través de su {@code dynamicInvoker()}. Para el JIT el
+ * invocador es una constante, así que puede integrar el árbol de handles en el llamador como si
+ * fuera código escrito a mano; al recargar, {@link MutableCallSite#syncAll} invalida ese código.
+ */
+public final class StatFormulas {
+
+    private static final Logger LOGGER = RpgStatsMod.LOGGER;
+
+    static final String[] BONUS_VARIABLES = {"str", "dex", "vit", "con"};
+    static final String[] GAIN_VARIABLES = {"damage", "iterations", "potential", "multiplier", "variation", "exponent"};
+
+    // (str, dex, vit, con, totals) -> void: escribe en totals las bonificaciones con expresión
+    private static final MethodType BONUS_TYPE = MethodType.methodType(void.class,
+            double.class, double.class, double.class, double.class, double[].class);
+    // (damage, iterations, potential, multiplier, variation, exponent) -> ganancia
+    private static final MethodType GAIN_TYPE = MethodType.methodType(double.class,
+            double.class, double.class, double.class, double.class, double.class, double.class);
+
+    private static final MutableCallSite BONUS_SITE = new MutableCallSite(MethodHandles.empty(BONUS_TYPE));
+    private static final MutableCallSite GAIN_SITE = new MutableCallSite(MethodHandles.empty(GAIN_TYPE));
+    private static final MethodHandle BONUS_OVERRIDES = BONUS_SITE.dynamicInvoker();
+    private static final MethodHandle STRENGTH_GAIN = GAIN_SITE.dynamicInvoker();
+
+    private static volatile boolean compiled = false;
+    private static volatile boolean hasBonusOverrides = false;
+    private static volatile boolean hasStrengthGainFormula = false;
+
+    private StatFormulas() {
+    }
+
+    /**
+     * Compila las expresiones de ModConfig.COMMON y las publica en los call sites.
+     * Se llama al cargar y al recargar la configuración.
+     */
+    public static synchronized void compile() {
+        ModConfig.Common config = ModConfig.COMMON;
+        MethodHandle overrides = MethodHandles.empty(BONUS_TYPE);
+        MethodHandle setTotal = MethodHandles.arrayElementSetter(double[].class); // (totals, index, value)
+        int overrideCount = 0;
+        for (BonusOutput output : BonusOutput.VALUES) {
+            MethodHandle formula = compileOrNull(config.bonusFormulas.get(output).get(), output.key(), BONUS_VARIABLES);
+            if (formula == null) {
+                continue;
+            }
+            // (totals, str, dex, vit, con) -> totals[o] = formula(str, dex, vit, con)
+            MethodHandle store = MethodHandles.collectArguments(
+                    MethodHandles.insertArguments(setTotal, 1, output.ordinal()), 1, formula);
+            // Reordenado a (str, dex, vit, con, totals) y encadenado delante de las anteriores
+            overrides = MethodHandles.foldArguments(overrides,
+                    MethodHandles.permuteArguments(store, BONUS_TYPE, 4, 0, 1, 2, 3));
+            overrideCount++;
+        }
+        MethodHandle gain = compileOrNull(config.strengthGainFormula.get(), "strengthGainOnHit", GAIN_VARIABLES);
+
+        BONUS_SITE.setTarget(overrides);
+        GAIN_SITE.setTarget(gain != null ? gain : MethodHandles.empty(GAIN_TYPE));
+        MutableCallSite.syncAll(new MutableCallSite[]{BONUS_SITE, GAIN_SITE});
+        hasBonusOverrides = overrideCount > 0;
+        hasStrengthGainFormula = gain != null;
+        compiled = true;
+        LOGGER.debug("Fórmulas compiladas: {} bonificaciones sobrescritas, ganancia de Fuerza {}.",
+                overrideCount, gain != null ? "personalizada" : "integrada");
+    }
+
+    private static void ensureCompiled() {
+        if (!compiled) {
+            compile();
+        }
+    }
+
+    @Nullable
+    private static MethodHandle compileOrNull(String expression, String name, String[] variables) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        try {
+            return FormulaCompiler.compile(expression, variables);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Fórmula '{}' inválida, se usa la integrada: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sustituye en {@code totals} las bonificaciones que tienen expresión propia.
+     */
+    public static void applyBonusOverrides(double strength, double dexterity, double vitality, double constitution, double[] totals) {
+        ensureCompiled();
+        if (!hasBonusOverrides) {
+            return;
+        }
+        try {
+            BONUS_OVERRIDES.invokeExact(strength, dexterity, vitality, constitution, totals);
+        } catch (Throwable t) {
+            // Los handles solo combinan operaciones aritméticas; no debería ocurrir
+            LOGGER.error("Error evaluando las fórmulas de bonificación", t);
+        }
+    }
+
+    /**
+     * @return true si la ganancia de Fuerza por golpe usa una expresión de la configuración.
+     */
+    public static boolean hasStrengthGainFormula() {
+        ensureCompiled();
+        return hasStrengthGainFormula;
+    }
+
+    /**
+     * Evalúa la expresión de ganancia de Fuerza. Solo debe llamarse si {@link #hasStrengthGainFormula()}.
+     */
+    public static double strengthGain(double damage, double iterations, double potential,
+                                      double multiplier, double variation, double exponent) {
+        try {
+            return (double) STRENGTH_GAIN.invokeExact(damage, iterations, potential, multiplier, variation, exponent);
+        } catch (Throwable t) {
+            LOGGER.error("Error evaluando la fórmula de ganancia de Fuerza", t);
+            return 0.0;
+        }
+    }
+}
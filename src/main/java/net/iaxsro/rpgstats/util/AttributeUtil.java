@@ -129,6 +129,69 @@ public final class AttributeUtil { // Clase final, no se puede heredar
         }
     }
 
+    /**
+     * Resultado de {@link #syncPermanentModifier}.
+     */
+    public enum ModifierSyncResult {
+        UPDATED,   // Se añadió, reemplazó o eliminó algún modificador
+        UNCHANGED, // El modificador ya tenía el valor y la operación deseados
+        MISSING    // El atributo no existe (o la entidad no lo tiene)
+    }
+
+    /**
+     * Deja un modificador permanente con el valor deseado tocando la instancia solo si es necesario.
+     * Si ya existe un modificador con el mismo UUID y operación cuyo valor difiere menos que
+     * {@code epsilon}, no se modifica nada (el nombre del modificador existente se conserva).
+     * Cada eliminación o adición marca el atributo para sincronizarse con el cliente.
+     *
+     * @param entity       La entidad a modificar (no debe ser null).
+     * @param attribute    El atributo (puede ser null, en cuyo caso no se hace nada).
+     * @param modifier     El modificador deseado (no debe ser null).
+     * @param previousUUID UUID de un modificador anterior a eliminar si es distinto del nuevo (puede ser null).
+     * @param epsilon      Diferencia máxima de valor que se considera igual.
+     * @return El resultado de la sincronización.
+     */
+    @NotNull
+    public static ModifierSyncResult syncPermanentModifier(@NotNull LivingEntity entity, @Nullable Attribute attribute, @NotNull AttributeModifier modifier,
+                                                           @Nullable UUID previousUUID, double epsilon) {
+        if (attribute == null) {
+            return ModifierSyncResult.MISSING;
+        }
+        AttributeInstance attributeInstance = entity.getAttribute(attribute);
+        if (attributeInstance == null) {
+            LOGGER.warn("La entidad {} no tiene el atributo '{}'. No se pudo sincronizar el modificador '{}'.",
+                    entity.getName().getString(), getAttributeName(attribute), modifier.getName());
+            return ModifierSyncResult.MISSING;
+        }
+
+        boolean touched = false;
+        if (previousUUID != null && !previousUUID.equals(modifier.getId())) {
+            touched = attributeInstance.removePermanentModifier(previousUUID);
+        }
+
+        AttributeModifier existing = attributeInstance.getModifier(modifier.getId());
+        if (existing != null) {
+            if (existing.getOperation() == modifier.getOperation() && Math.abs(existing.getAmount() - modifier.getAmount()) <= epsilon) {
+                return touched ? ModifierSyncResult.UPDATED : ModifierSyncResult.UNCHANGED;
+            }
+            attributeInstance.removePermanentModifier(modifier.getId());
+        }
+        attributeInstance.addPermanentModifier(modifier);
+        LOGGER.trace("Modificador '{}' ({}) sincronizado en el atributo '{}' para {}: {}",
+                modifier.getName(), modifier.getId(), getAttributeName(attribute), entity.getName().getString(), modifier.getAmount());
+        return ModifierSyncResult.UPDATED;
+    }
+
+    /**
+     * Sobrecarga de {@link #syncPermanentModifier(LivingEntity, Attribute, AttributeModifier, UUID, double)}
+     * usando un Supplier para el atributo (atributos opcionales).
+     */
+    @NotNull
+    public static ModifierSyncResult syncPermanentModifier(@NotNull LivingEntity entity, @NotNull Supplier<Attribute> attributeSupplier, @NotNull AttributeModifier modifier,
+                                                           @Nullable UUID previousUUID, double epsilon) {
+        return syncPermanentModifier(entity, attributeSupplier.get(), modifier, previousUUID, epsilon);
+    }
+
     /**
      * Crea un Supplier memoizado (cacheado) para obtener un atributo del registro por su ResourceLocation.
      * Eficiente para buscar atributos opcionales o de otros mods repetidamente, ya que el resultado